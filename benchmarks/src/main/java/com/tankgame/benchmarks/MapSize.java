@@ -0,0 +1,26 @@
+package com.tankgame.benchmarks;
+
+/**
+ * Parses the "WIDTHxHEIGHT" map size parameter shared by the benchmarks
+ */
+public final class MapSize {
+    private final double width;
+    private final double height;
+    
+    private MapSize(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+    
+    public static MapSize parse(String value) {
+        int separator = value.indexOf('x');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Map size must look like 1000x800: " + value);
+        }
+        return new MapSize(Double.parseDouble(value.substring(0, separator)),
+            Double.parseDouble(value.substring(separator + 1)));
+    }
+    
+    public double getWidth() { return width; }
+    public double getHeight() { return height; }
+}
@@ -0,0 +1,60 @@
+package com.tankgame.core;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Tick time with the SpatialGrid broad phase and StaticGeometryIndex against the linear scan
+ * over every object they replaced, for tank movement and med pack pickup. Maps grow with the
+ * enemy count, so every run has the density of the default 1000x800 map with 6 enemies and
+ * only the count changes; the two broad phases of one count are reported next to each other.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadPhaseBenchmark {
+    // Ticks played before measuring, so missiles and explosions are in flight
+    private static final int SETTLE_TICKS = 300;
+    private static final double AREA_PER_ENEMY = 1000 * 800 / 6.0;
+    
+    @Param({"6", "500", "5000"})
+    public int enemies;
+    
+    @Param({"grid", "linear"})
+    public String path;
+    
+    private GameEngine engine;
+    
+    @Setup(Level.Iteration)
+    public void createEngine() {
+        double side = Math.sqrt(enemies * AREA_PER_ENEMY);
+        engine = new GameEngine(Scenario.builder("benchmark")
+            .mapSize(side, side)
+            .enemyCount(enemies)
+            .build());
+        engine.enableAutopilot();
+        // Settled on the grid either way; 300 linear ticks at 5000 enemies would take minutes
+        for (int i = 0; i < SETTLE_TICKS; i++) {
+            engine.update();
+        }
+        engine.setLinearBroadPhase(path.equals("linear"));
+    }
+    
+    @Benchmark
+    public GameEngine.GameState update() {
+        if (engine.getGameState() != GameEngine.GameState.PLAYING) {
+            createEngine();
+        }
+        engine.update();
+        return engine.getGameState();
+    }
+    
+    @Benchmark
+    public int checkCollisions() {
+        engine.checkCollisions();
+        return engine.getScore();
+    }
+}
@@ -0,0 +1,80 @@
+package com.tankgame.core;
+
+import com.tankgame.benchmarks.MapSize;
+import com.tankgame.model.Direction;
+import com.tankgame.model.Tank;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Shared flow field with every enemy chasing the player: the BFS rebuild on its own,
+ * one steering lookup per tank, and a full engine tick with all tanks following the field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlowFieldBenchmark {
+    // Ticks played before measuring, so the tanks are spread along their paths
+    private static final int SETTLE_TICKS = 300;
+    
+    @Param({"1000"})
+    public int enemies;
+    
+    @Param({"4000x4000"})
+    public String map;
+    
+    private GameEngine engine;
+    private FlowField flowField;
+    private double goalX;
+    private double goalY;
+    private boolean alternate;
+    
+    @Setup(Level.Iteration)
+    public void createEngine() {
+        MapSize size = MapSize.parse(map);
+        // No enemy fire, so the player survives and the chase goes on for the whole iteration
+        engine = new GameEngine(Scenario.builder("benchmark")
+            .mapSize(size.getWidth(), size.getHeight())
+            .enemyCount(enemies)
+            .aggressiveRatio(1.0)
+            .enemyFireRate(0)
+            .build());
+        for (int i = 0; i < SETTLE_TICKS; i++) {
+            engine.update();
+        }
+        flowField = engine.getFlowField();
+        goalX = engine.getPlayerTank().getCenterX();
+        goalY = engine.getPlayerTank().getCenterY();
+    }
+    
+    @Benchmark
+    public boolean rebuild() {
+        // Alternate between neighbouring cells so every call is a full rebuild
+        alternate = !alternate;
+        return flowField.update(goalX + (alternate ? flowField.getCellSize() : 0), goalY);
+    }
+    
+    @Benchmark
+    public void steer(Blackhole blackhole) {
+        List<Tank> tanks = engine.getEnemyTanks();
+        for (int i = 0, n = tanks.size(); i < n; i++) {
+            Tank tank = tanks.get(i);
+            Direction direction = flowField.steer(tank, tank.getDirection());
+            blackhole.consume(direction);
+        }
+    }
+    
+    @Benchmark
+    public GameEngine.GameState tick() {
+        if (engine.getGameState() != GameEngine.GameState.PLAYING) {
+            createEngine();
+        }
+        engine.update();
+        return engine.getGameState();
+    }
+}
@@ -0,0 +1,78 @@
+package com.tankgame.core;
+
+import com.tankgame.benchmarks.MapSize;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Engine-level hot paths: a full fixed-timestep tick, the collision pass on its own,
+ * and med pack respawning. Lives in com.tankgame.core to reach the package-private hooks.
+ * Each run uses a generated scenario layout, so results are comparable across map sizes.
+ *
+ * The 1000x800 map has room for roughly 400 tanks, so the largest enemy count
+ * stops spawning there once the map is full.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameEngineBenchmark {
+    // Ticks played before measuring, so missiles and explosions are in flight
+    private static final int SETTLE_TICKS = 300;
+    
+    @Param({"6", "100", "1000"})
+    public int enemies;
+    
+    @Param({"1000x800", "4000x4000"})
+    public String map;
+    
+    private GameEngine engine;
+    
+    @Setup(Level.Iteration)
+    public void createEngine() {
+        MapSize size = MapSize.parse(map);
+        engine = new GameEngine(Scenario.builder("benchmark")
+            .mapSize(size.getWidth(), size.getHeight())
+            .enemyCount(enemies)
+            .build());
+        engine.enableAutopilot();
+        for (int i = 0; i < SETTLE_TICKS; i++) {
+            engine.update();
+        }
+    }
+    
+    @Benchmark
+    public GameEngine.GameState update() {
+        // A finished match turns update() into a no-op, so start over; this is rare
+        // compared to the number of ticks per iteration
+        if (engine.getGameState() != GameEngine.GameState.PLAYING) {
+            createEngine();
+        }
+        engine.update();
+        return engine.getGameState();
+    }
+    
+    @Benchmark
+    public int checkCollisions() {
+        // Repeated passes over a settled world: hits found in the first pass are already
+        // flagged, so this measures the steady-state cost of the broad and narrow phase
+        engine.checkCollisions();
+        return engine.getScore();
+    }
+    
+    @State(Scope.Thread)
+    public static class MedPackState {
+        @Setup(Level.Invocation)
+        public void clear(GameEngineBenchmark benchmark) {
+            benchmark.engine.clearMedPacks();
+        }
+    }
+    
+    @Benchmark
+    public int respawnMedPacks(MedPackState medPackState) {
+        engine.respawnMedPacks();
+        return engine.getAllObjects().size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.tankgame.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Snapshot save and load through the mapped file, from the default match up to the
+ * 50k-enemy preset, to check that both stay linear in the number of objects.
+ * Loading goes into the engine the snapshot came from, which is the checkpoint/restore case.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldSnapshotBenchmark {
+    // Ticks played before the snapshot, so missiles and explosions are in flight
+    private static final int SETTLE_TICKS = 300;
+    
+    @Param({"classic", "stress-1k", "stress-10k", "stress-50k"})
+    public String scenario;
+    
+    private GameEngine engine;
+    private Path file;
+    
+    @Setup(Level.Trial)
+    public void createEngine() throws IOException {
+        engine = new GameEngine(Scenario.byName(scenario));
+        engine.enableAutopilot();
+        for (int i = 0; i < SETTLE_TICKS; i++) {
+            engine.update();
+        }
+        file = Files.createTempFile("snapshot-benchmark", ".snap");
+        WorldSnapshot.save(engine, file);
+    }
+    
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+    
+    @Benchmark
+    public long save() throws IOException {
+        return WorldSnapshot.save(engine, file);
+    }
+    
+    @Benchmark
+    public int load() throws IOException {
+        WorldSnapshot.load(engine, file);
+        return engine.getScore();
+    }
+}
@@ -0,0 +1,61 @@
+package com.tankgame.ecs;
+
+import com.tankgame.core.GameEngine;
+import com.tankgame.factory.GameObjectFactory;
+import com.tankgame.model.Wall;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * EcsWorld tick time at large populations, in milliseconds so it reads directly against
+ * the 16.7 ms budget of a 60 Hz tick. Enemies start on a lattice with one free spot per
+ * tank, so none overlap each other, a wall or the player.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EcsBenchmark {
+    // Ticks played before measuring, so missiles are in flight
+    private static final int SETTLE_TICKS = 100;
+    // Map area per tank; denser than the default map so there is plenty of contact
+    private static final double AREA_PER_TANK = 80 * 80;
+    
+    @Param({"10000", "55000", "100000"})
+    public int tanks;
+    
+    private EcsWorld world;
+    
+    @Setup(Level.Iteration)
+    public void createWorld() {
+        double side = Math.sqrt(tanks * AREA_PER_TANK);
+        Random random = new Random(42);
+        GameObjectFactory factory = GameObjectFactory.getInstance();
+        
+        List<Wall> walls = new ArrayList<>();
+        for (int i = 0; i < tanks / 10; i++) {
+            walls.add(factory.createWall(random.nextInt((int) (side - 80)), random.nextInt((int) (side - 80)), 80, 40));
+        }
+        
+        world = new EcsWorld(side, side, walls, tanks, 42);
+        world.spawnPlayer(side / 2, side / 2);
+        int perRow = (int) (side / 80);
+        for (int i = 0; world.getStore().getTanks().size() < tanks && i < perRow * perRow; i++) {
+            world.spawnEnemy((i % perRow) * 80 + 20, (i / perRow) * 80 + 20, i % 2 == 0);
+        }
+        for (int i = 0; i < SETTLE_TICKS; i++) {
+            world.update(GameEngine.FIXED_TIMESTEP);
+        }
+    }
+    
+    @Benchmark
+    public int update() {
+        world.update(GameEngine.FIXED_TIMESTEP);
+        return world.getStore().getEntityCount();
+    }
+}
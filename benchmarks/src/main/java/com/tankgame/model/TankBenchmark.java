@@ -0,0 +1,111 @@
+package com.tankgame.model;
+
+import com.tankgame.benchmarks.MapSize;
+import com.tankgame.core.GameEngine;
+import com.tankgame.core.SpatialGrid;
+import com.tankgame.core.StaticGeometryIndex;
+import com.tankgame.factory.GameObjectFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tank movement against the old linear obstacle scan and against the spatial grid
+ * plus wall index, and the raw AABB test. Each operation is one tick's worth of
+ * moves for every tank, or one tank tested against every object for intersects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TankBenchmark {
+    private static final double GRID_CELL_SIZE = 64;
+    private static final double WALL_INDEX_CELL_SIZE = 10;
+    private static final int WALLS_PER_TANK = 3;
+    // Ticks each tank keeps its direction, so tanks travel between grid cells
+    private static final int DIRECTION_HOLD_TICKS = 30;
+    
+    @Param({"6", "100", "1000"})
+    public int tanks;
+    
+    @Param({"1000x800", "4000x4000"})
+    public String map;
+    
+    private double mapWidth;
+    private double mapHeight;
+    private final List<Tank> tankList = new ArrayList<>();
+    private final List<GameObject> allObjects = new ArrayList<>();
+    private SpatialGrid grid;
+    private StaticGeometryIndex wallIndex;
+    private Direction[] directions;
+    private int tick;
+    
+    @Setup(Level.Iteration)
+    public void createWorld() {
+        MapSize size = MapSize.parse(map);
+        mapWidth = size.getWidth();
+        mapHeight = size.getHeight();
+        tankList.clear();
+        allObjects.clear();
+        grid = new SpatialGrid(mapWidth, mapHeight, GRID_CELL_SIZE);
+        tick = 0;
+        
+        GameObjectFactory factory = GameObjectFactory.getInstance();
+        Random random = new Random(42);
+        List<Wall> walls = new ArrayList<>();
+        for (int i = 0; i < tanks * WALLS_PER_TANK; i++) {
+            Wall wall = factory.createWall(random.nextDouble() * (mapWidth - 80),
+                random.nextDouble() * (mapHeight - 80), 80, 40);
+            walls.add(wall);
+            allObjects.add(wall);
+        }
+        wallIndex = new StaticGeometryIndex(walls, mapWidth, mapHeight, WALL_INDEX_CELL_SIZE);
+        
+        for (int i = 0; i < tanks; i++) {
+            Tank tank = factory.createEnemyTank(random.nextDouble() * (mapWidth - 40),
+                random.nextDouble() * (mapHeight - 40), false);
+            tankList.add(tank);
+            allObjects.add(tank);
+            grid.insert(tank);
+        }
+        
+        Direction[] values = Direction.values();
+        directions = new Direction[tanks];
+        for (int i = 0; i < tanks; i++) {
+            directions[i] = values[random.nextInt(values.length)];
+        }
+    }
+    
+    private Direction directionFor(int i) {
+        return directions[(i + tick / DIRECTION_HOLD_TICKS) % directions.length];
+    }
+    
+    @Benchmark
+    public void moveLinearScan() {
+        for (int i = 0, n = tankList.size(); i < n; i++) {
+            tankList.get(i).move(directionFor(i), allObjects, mapWidth, mapHeight, GameEngine.FIXED_TIMESTEP);
+        }
+        tick++;
+    }
+    
+    @Benchmark
+    public void moveSpatialGrid() {
+        for (int i = 0, n = tankList.size(); i < n; i++) {
+            tankList.get(i).move(directionFor(i), grid, wallIndex, mapWidth, mapHeight, GameEngine.FIXED_TIMESTEP);
+        }
+        tick++;
+    }
+    
+    @Benchmark
+    public void intersects(Blackhole blackhole) {
+        Tank probe = tankList.get(tick++ % tankList.size());
+        for (int i = 0, n = allObjects.size(); i < n; i++) {
+            blackhole.consume(probe.intersects(allObjects.get(i)));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.tankgame.strategy;
+
+import com.tankgame.core.GameEngine;
+import com.tankgame.factory.GameObjectFactory;
+import com.tankgame.model.Direction;
+import com.tankgame.model.GameObject;
+import com.tankgame.model.Tank;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * AI decision cost of both enemy strategies. Each operation asks every tank for its
+ * next move and then moves it on an empty map, so the strategies see tanks that
+ * actually make progress instead of permanently taking the stuck path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovementStrategyBenchmark {
+    private static final List<GameObject> NO_OBSTACLES = Collections.emptyList();
+    
+    @Param({"aggressive", "random"})
+    public String strategy;
+    
+    @Param({"6", "100", "1000"})
+    public int tanks;
+    
+    @Param({"4000"})
+    public double mapSize;
+    
+    private final List<Tank> tankList = new ArrayList<>();
+    private Tank playerTank;
+    
+    @Setup(Level.Iteration)
+    public void createTanks() {
+        GameObjectFactory factory = GameObjectFactory.getInstance();
+        Random random = new Random(42);
+        boolean aggressive = "aggressive".equals(strategy);
+        
+        tankList.clear();
+        for (int i = 0; i < tanks; i++) {
+            tankList.add(factory.createEnemyTank(random.nextDouble() * (mapSize - 40),
+                random.nextDouble() * (mapSize - 40), aggressive));
+        }
+        playerTank = factory.createPlayerTank(mapSize / 2, mapSize / 2);
+    }
+    
+    @Benchmark
+    public void getNextMove(Blackhole blackhole) {
+        for (int i = 0, n = tankList.size(); i < n; i++) {
+            Tank tank = tankList.get(i);
+            Direction direction = tank.getMovementStrategy().getNextMove(tank, NO_OBSTACLES, playerTank);
+            tank.move(direction, NO_OBSTACLES, mapSize, mapSize, GameEngine.FIXED_TIMESTEP);
+            blackhole.consume(direction);
+        }
+    }
+}
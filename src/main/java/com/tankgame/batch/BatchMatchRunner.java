@@ -0,0 +1,115 @@
+package com.tankgame.batch;
+
+import com.tankgame.core.GameEngine;
+import com.tankgame.core.Scenario;
+import com.tankgame.factory.GameObjectFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line runner that plays headless AI-vs-AI matches in parallel on all cores.
+ * No JavaFX toolkit is started, so it runs on machines without a display.
+ *
+ * Usage: BatchMatchRunner [--matches N] [--threads N] [--max-ticks N]
+ */
+public class BatchMatchRunner {
+    private static final int DEFAULT_MATCHES = 1000;
+    private static final int DEFAULT_MAX_TICKS = 36000; // 10 minutes at 60 ticks/s
+    
+    /**
+     * Outcome of a single match
+     */
+    public static class MatchResult {
+        private final GameEngine.GameState finalState;
+        private final int ticks;
+        private final int score;
+        
+        public MatchResult(GameEngine.GameState finalState, int ticks, int score) {
+            this.finalState = finalState;
+            this.ticks = ticks;
+            this.score = score;
+        }
+        
+        public GameEngine.GameState getFinalState() { return finalState; }
+        public int getTicks() { return ticks; }
+        public int getScore() { return score; }
+    }
+    
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int matches = DEFAULT_MATCHES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxTicks = DEFAULT_MAX_TICKS;
+        
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--matches":
+                    matches = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--max-ticks":
+                    maxTicks = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+        
+        System.out.println("Running " + matches + " matches on " + threads + " threads (max " + maxTicks + " ticks each)");
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<MatchResult>> futures = new ArrayList<>(matches);
+        long start = System.nanoTime();
+        
+        final int tickLimit = maxTicks;
+        for (int i = 0; i < matches; i++) {
+            // Every match gets its own seed, so each one plays out differently but reproducibly
+            final long seed = i;
+            futures.add(executor.submit(() -> playMatch(tickLimit, seed)));
+        }
+        
+        int won = 0, lost = 0, timedOut = 0;
+        long totalTicks = 0;
+        long totalScore = 0;
+        for (Future<MatchResult> future : futures) {
+            MatchResult result = future.get();
+            totalTicks += result.getTicks();
+            totalScore += result.getScore();
+            switch (result.getFinalState()) {
+                case WON: won++; break;
+                case LOST: lost++; break;
+                default: timedOut++; break;
+            }
+        }
+        executor.shutdown();
+        
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("Finished in %.2f s%n", seconds);
+        System.out.printf("Player won: %d, lost: %d, timed out: %d, average score: %.1f%n",
+            won, lost, timedOut, totalScore / (double) matches);
+        System.out.printf("Throughput: %.1f matches/s, %.0f ticks/s%n",
+            matches / seconds, totalTicks / seconds);
+        System.out.println("Missile pool: " + GameObjectFactory.getInstance().getMissilePoolStats());
+        System.out.println("Explosion pool: " + GameObjectFactory.getInstance().getExplosionPoolStats());
+    }
+    
+    public static MatchResult playMatch(int maxTicks, long seed) {
+        GameEngine engine = new GameEngine(Scenario.CLASSIC, seed);
+        engine.enableAutopilot();
+        // The matches already keep every core busy; a second pool would only compete with them
+        engine.setAiDecisionPool(null);
+        
+        int ticks = 0;
+        while (engine.getGameState() == GameEngine.GameState.PLAYING && ticks < maxTicks) {
+            engine.update();
+            ticks++;
+        }
+        return new MatchResult(engine.getGameState(), ticks, engine.getScore());
+    }
+}
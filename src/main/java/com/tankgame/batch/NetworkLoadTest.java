@@ -0,0 +1,148 @@
+package com.tankgame.batch;
+
+import com.tankgame.core.GameEngine;
+import com.tankgame.core.PlayerCommand;
+import com.tankgame.core.Scenario;
+import com.tankgame.net.GameClient;
+import com.tankgame.net.GameServer;
+import com.tankgame.util.LatencyHistogram;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Load test of GameServer over loopback: for each client count, a fresh server runs on its own
+ * thread while simulated clients on a single selector thread press and release random moves
+ * and fire. Reports the server's tick time (update plus broadcast) and traffic per second.
+ *
+ * Usage: NetworkLoadTest [--scenario NAME] [--seconds N] [--clients 2,4,8,...]
+ */
+public class NetworkLoadTest {
+    private static final int DEFAULT_SECONDS = 10;
+    private static final String DEFAULT_CLIENTS = "2,4,8,16,32,64";
+    private static final long SEED = 42;
+    // Each client changes one input about every this many milliseconds
+    private static final int INPUT_INTERVAL_MILLIS = 100;
+    private static final PlayerCommand[] INPUTS = {
+        PlayerCommand.MOVE_UP, PlayerCommand.MOVE_DOWN, PlayerCommand.MOVE_LEFT,
+        PlayerCommand.MOVE_RIGHT, PlayerCommand.FIRE
+    };
+    
+    public static void main(String[] args) throws Exception {
+        String scenarioName = "classic";
+        int seconds = DEFAULT_SECONDS;
+        String clientCounts = DEFAULT_CLIENTS;
+        
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                System.err.println("Missing value for " + args[i]);
+                return;
+            }
+            switch (args[i]) {
+                case "--scenario":
+                    scenarioName = args[i + 1];
+                    break;
+                case "--seconds":
+                    seconds = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--clients":
+                    clientCounts = args[i + 1];
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+        
+        Scenario scenario = Scenario.byName(scenarioName);
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-8s %8s %9s %9s %9s %10s %9s %10s %8s %9s",
+            "clients", "ticks", "p50 ms", "p99 ms", "max ms", "out KB/s", "in B/s", "upd/cl/s", "skipped", "entities"));
+        for (String count : clientCounts.split(",")) {
+            int clients = Integer.parseInt(count.trim());
+            System.out.println("Running " + scenario.getName() + " with " + clients + " clients");
+            report.add(run(scenario, clients, seconds));
+        }
+        
+        // Printed at the end so the table isn't interleaved with engine log lines
+        System.out.println();
+        report.forEach(System.out::println);
+    }
+    
+    private static String run(Scenario scenario, int clientCount, int seconds) throws Exception {
+        GameEngine engine = new GameEngine(scenario, SEED);
+        GameServer server = new GameServer(engine, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                System.err.println("Server failed: " + e.getMessage());
+            }
+        }, "game-server");
+        serverThread.start();
+        
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        List<GameClient> clients = new ArrayList<>();
+        Random random = new Random(SEED);
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < clientCount; i++) {
+                GameClient client = new GameClient(address);
+                client.register(selector);
+                clients.add(client);
+            }
+            
+            long end = System.nanoTime() + seconds * 1_000_000_000L;
+            long nextInput = System.nanoTime();
+            long inputNanos = INPUT_INTERVAL_MILLIS * 1_000_000L / clientCount;
+            while (System.nanoTime() < end) {
+                selector.select(Math.max(1, INPUT_INTERVAL_MILLIS / clientCount));
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!((GameClient) key.attachment()).read()) {
+                        key.cancel();
+                    }
+                }
+                
+                // Inputs spread evenly over the clients, each about every INPUT_INTERVAL_MILLIS
+                long now = System.nanoTime();
+                while (nextInput <= now) {
+                    GameClient client = clients.get(random.nextInt(clientCount));
+                    client.sendInput(INPUTS[random.nextInt(INPUTS.length)], random.nextBoolean());
+                    nextInput += inputNanos;
+                }
+            }
+        } finally {
+            server.close();
+            serverThread.join();
+            for (GameClient client : clients) {
+                client.close();
+            }
+        }
+        
+        long updates = 0;
+        long entities = 0;
+        for (GameClient client : clients) {
+            updates += client.getUpdateCount();
+            entities += client.getEntityCount();
+        }
+        LatencyHistogram tickTimes = server.getTickTimes();
+        return String.format("%-8d %8d %9.3f %9.3f %9.3f %10.1f %9.0f %10.1f %8d %9.1f",
+            clientCount, server.getTick(),
+            tickTimes.getPercentile(50) / 1_000_000.0,
+            tickTimes.getPercentile(99) / 1_000_000.0,
+            tickTimes.getMax() / 1_000_000.0,
+            server.getBytesSent() / 1024.0 / seconds,
+            (double) server.getBytesReceived() / seconds,
+            (double) updates / clientCount / seconds,
+            server.getUpdatesSkipped(),
+            updates > 0 ? (double) entities / updates : 0);
+    }
+}
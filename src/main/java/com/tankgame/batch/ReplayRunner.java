@@ -0,0 +1,148 @@
+package com.tankgame.batch;
+
+import com.tankgame.core.GameEngine;
+import com.tankgame.core.InputRecorder;
+import com.tankgame.core.ReplayFile;
+import com.tankgame.core.Scenario;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line runner that re-simulates a recorded match headless, as fast as the CPU allows,
+ * and checks the state checksum on every tick the recording has one for. A mismatch means the simulation is no longer
+ * deterministic for that input (or the code changed behavior), and is reported with its tick.
+ * With --repeat the replay is run several times, which turns a real session into a benchmark.
+ *
+ * With --record, an autopilot match is played and recorded instead, e.g. to create a replay
+ * of a stress scenario. These recordings carry a checksum for every tick.
+ *
+ * Usage: ReplayRunner FILE [--repeat N]
+ *        ReplayRunner --record FILE [--scenario NAME] [--seed N] [--ticks N]
+ */
+public class ReplayRunner {
+    private static final int DEFAULT_RECORD_TICKS = 3600;
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayRunner FILE [--repeat N] | --record FILE [--scenario NAME] [--seed N] [--ticks N]");
+            return;
+        }
+        
+        Path file = null;
+        boolean record = false;
+        int repeat = 1;
+        String scenarioName = "classic";
+        Long seed = null;
+        int ticks = DEFAULT_RECORD_TICKS;
+        
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                file = Paths.get(args[i]);
+                i--;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                System.err.println("Missing value for " + args[i]);
+                return;
+            }
+            switch (args[i]) {
+                case "--record":
+                    record = true;
+                    file = Paths.get(args[i + 1]);
+                    break;
+                case "--repeat":
+                    repeat = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--scenario":
+                    scenarioName = args[i + 1];
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                case "--ticks":
+                    ticks = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+        if (file == null) {
+            System.err.println("No replay file given");
+            return;
+        }
+        
+        if (record) {
+            Scenario scenario = Scenario.byName(scenarioName);
+            recordAutopilot(file, scenario, seed != null ? seed : scenario.getSeed(), ticks);
+            return;
+        }
+        
+        for (int run = 1; run <= repeat; run++) {
+            if (!replay(file, run)) {
+                System.exit(1);
+            }
+        }
+    }
+    
+    private static void recordAutopilot(Path file, Scenario scenario, long seed, int ticks) throws IOException {
+        GameEngine engine = new GameEngine(scenario, seed);
+        engine.enableAutopilot();
+        try (InputRecorder recorder = new InputRecorder(file, engine, GameEngine.FIXED_TIMESTEP, 1)) {
+            engine.setInputRecorder(recorder);
+            for (int tick = 0; tick < ticks && engine.getGameState() == GameEngine.GameState.PLAYING; tick++) {
+                engine.update();
+            }
+            System.out.printf("Recorded %d ticks of %s (seed %d) to %s, final state %s, score %d%n",
+                recorder.getTickCount(), scenario.getName(), seed, file, engine.getGameState(), engine.getScore());
+        }
+    }
+    
+    /**
+     * Re-simulate the file once; false on the first checksum mismatch
+     */
+    private static boolean replay(Path file, int run) throws IOException {
+        try (ReplayFile replay = new ReplayFile(file)) {
+            GameEngine engine = replay.createEngine();
+            long tick = 0;
+            long simulationNanos = 0;
+            
+            ReplayFile.Operation operation;
+            while ((operation = replay.next()) != ReplayFile.Operation.END) {
+                switch (operation) {
+                    case PRESS:
+                        engine.commandPressed(replay.getCommand());
+                        break;
+                    case RELEASE:
+                        engine.commandReleased(replay.getCommand());
+                        break;
+                    case TICK:
+                        long start = System.nanoTime();
+                        engine.update(replay.getStepSeconds());
+                        simulationNanos += System.nanoTime() - start;
+                        tick++;
+                        
+                        if (!replay.hasChecksum()) {
+                            break;
+                        }
+                        int checksum = engine.computeChecksum();
+                        if (checksum != replay.getChecksum()) {
+                            System.out.printf("Run %d: diverged at tick %d (expected checksum %08x, got %08x)%n",
+                                run, tick, replay.getChecksum(), checksum);
+                            return false;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            
+            double seconds = simulationNanos / 1_000_000_000.0;
+            System.out.printf("Run %d: %d ticks of %s (seed %d) matched, %.3f s simulated, %.0f ticks/s, "
+                + "final state %s, score %d%n", run, tick, replay.getScenarioName(), replay.getSeed(), seconds,
+                tick / Math.max(seconds, 1e-9), engine.getGameState(), engine.getScore());
+            return true;
+        }
+    }
+}
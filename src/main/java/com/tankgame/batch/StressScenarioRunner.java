@@ -0,0 +1,154 @@
+package com.tankgame.batch;
+
+import com.tankgame.core.AiScheduler;
+import com.tankgame.core.GameEngine;
+import com.tankgame.core.Scenario;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command-line runner that plays scenarios headless and reports tick-time percentiles.
+ * The player is on autopilot; a finished match is restarted outside the measured time
+ * so every scenario gets the full tick count.
+ *
+ * With --profile, the per-phase tick profile of each scenario is printed as well.
+ * --ai-threads runs the enemy AI decisions on a pool of that many threads (1 runs them on
+ * the simulation thread), to compare against the default common pool.
+ *
+ * Usage: StressScenarioRunner [--scenario NAME|all] [--ticks N] [--warmup N] [--ai-threads N] [--profile]
+ */
+public class StressScenarioRunner {
+    private static final int DEFAULT_TICKS = 600;
+    private static final int DEFAULT_WARMUP_TICKS = 120;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    
+    public static void main(String[] args) {
+        String scenarioName = "all";
+        int ticks = DEFAULT_TICKS;
+        int warmupTicks = DEFAULT_WARMUP_TICKS;
+        boolean profile = false;
+        int aiThreads = 0;
+        
+        for (int i = 0; i < args.length; i += 2) {
+            if (args[i].equals("--profile")) {
+                profile = true;
+                i--;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                System.err.println("Missing value for " + args[i]);
+                return;
+            }
+            switch (args[i]) {
+                case "--scenario":
+                    scenarioName = args[i + 1];
+                    break;
+                case "--ticks":
+                    ticks = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--warmup":
+                    warmupTicks = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--ai-threads":
+                    aiThreads = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+        
+        List<Scenario> scenarios = new ArrayList<>();
+        if (scenarioName.equals("all")) {
+            scenarios.addAll(Scenario.presets());
+        } else {
+            scenarios.add(Scenario.byName(scenarioName));
+        }
+        
+        ForkJoinPool aiPool = aiThreads > 1 ? new ForkJoinPool(aiThreads) : null;
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-12s %8s %9s %9s %9s %9s %9s %9s %8s",
+            "scenario", "objects", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "restarts"));
+        for (Scenario scenario : scenarios) {
+            System.out.println("Running " + scenario);
+            report.add(run(scenario, ticks, warmupTicks, aiThreads, aiPool, profile));
+        }
+        if (aiPool != null) {
+            aiPool.shutdown();
+        }
+        
+        // Printed at the end so the table isn't interleaved with engine log lines
+        System.out.println();
+        report.forEach(System.out::println);
+    }
+    
+    private static String run(Scenario scenario, int ticks, int warmupTicks, int aiThreads,
+                              ForkJoinPool aiPool, boolean profile) {
+        long setupStart = System.nanoTime();
+        GameEngine engine = new GameEngine(scenario);
+        engine.enableAutopilot();
+        if (aiThreads > 0) {
+            engine.setAiDecisionPool(aiPool);
+        }
+        System.out.printf("  world built in %.0f ms, %d objects%n",
+            (System.nanoTime() - setupStart) / 1_000_000.0, engine.getAllObjects().size());
+        
+        int restarts = 0;
+        long[] tickNanos = new long[ticks];
+        int objectCount = 0;
+        
+        for (int i = -warmupTicks; i < ticks; i++) {
+            if (engine.getGameState() != GameEngine.GameState.PLAYING) {
+                engine.restart();
+                restarts++;
+            }
+            
+            long start = System.nanoTime();
+            engine.update();
+            long elapsed = System.nanoTime() - start;
+            
+            if (i == -1) {
+                // Profile only the measured ticks
+                engine.getProfiler().setEnabled(profile);
+            }
+            if (i >= 0) {
+                tickNanos[i] = elapsed;
+                objectCount = Math.max(objectCount, engine.getAllObjects().size());
+            }
+        }
+        
+        if (profile) {
+            engine.getProfiler().writeReport(new PrintWriter(System.out));
+        }
+        
+        AiScheduler ai = engine.getAiScheduler();
+        System.out.printf("  ai: %.0f decisions/tick, avg %.0f ns per decision, p99 %.3f ms per tick, %d overruns of %d us%n",
+            ai.getDecisionCount() / (double) (ticks + warmupTicks), ai.getAverageDecisionNanos(),
+            ai.getTickTimes().getPercentile(99) / 1_000_000.0, ai.getOverrunCount(), ai.getBudgetNanos() / 1000);
+        
+        Arrays.sort(tickNanos);
+        long total = 0;
+        for (long nanos : tickNanos) {
+            total += nanos;
+        }
+        
+        StringBuilder line = new StringBuilder(String.format("%-12s %8d %9.3f",
+            scenario.getName(), objectCount, total / 1_000_000.0 / ticks));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" %9.3f", percentile(tickNanos, percentile) / 1_000_000.0));
+        }
+        line.append(String.format(" %9.3f %8d", tickNanos[ticks - 1] / 1_000_000.0, restarts));
+        return line.toString();
+    }
+    
+    /**
+     * Nearest-rank percentile of an ascending array
+     */
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
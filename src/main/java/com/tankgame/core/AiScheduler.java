@@ -0,0 +1,152 @@
+package com.tankgame.core;
+
+import com.tankgame.model.Tank;
+import com.tankgame.util.LatencyHistogram;
+import java.util.Arrays;
+
+/**
+ * Decides which enemies run their movement strategy on a tick. Tanks near the player decide
+ * every tick, farther ones every few ticks, staggered by id so each tick gets an even share;
+ * the others keep driving in their last direction. A decision stands for the ticks until the
+ * tank's next one, and strategies advance their timers by that much. The time of the decision phase is measured
+ * against a per-tick budget and every tick that goes over it counts as an overrun.
+ *
+ * With a hard budget, tanks are only scheduled while the estimated cost of the tick's decisions
+ * (phase time per decision so far, which already reflects the phase's threads) fits the budget; the rest are
+ * deferred to the next tick, where they go ahead of the budget so none waits longer than that.
+ * Which tanks get deferred depends on measured times, so this breaks replays and is off by
+ * default; the staggering alone is deterministic.
+ */
+public class AiScheduler {
+    private static final double NEAR_DISTANCE = 600;   // about half a screen diagonal
+    private static final double MID_DISTANCE = 1500;
+    private static final int MID_INTERVAL = 4;         // ticks between decisions
+    // An enemy covers one pixel a tick, so between decisions it stays within the flow
+    // field's alignment window and can still turn into the next lane
+    private static final int FAR_INTERVAL = 8;
+    private static final long DEFAULT_BUDGET_MICROS = 2000;
+    
+    private final long budgetNanos;
+    private final boolean hardBudget;
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private long tick;
+    private boolean[] deferred = new boolean[0];
+    private double plannedNanos;
+    private int deferrals;
+    private int dueTicks;
+    private long totalDecisions;
+    private long totalPhaseNanos;
+    private int lastDecisions;
+    private int lastDeferrals;
+    private long overrunCount;
+    
+    /**
+     * Budget from -Dtankgame.ai.budgetMicros (default 2000), hard when -Dtankgame.ai.hardBudget=true
+     */
+    public AiScheduler() {
+        this(Long.getLong("tankgame.ai.budgetMicros", DEFAULT_BUDGET_MICROS) * 1000,
+            Boolean.getBoolean("tankgame.ai.hardBudget"));
+    }
+    
+    public AiScheduler(long budgetNanos, boolean hardBudget) {
+        this.budgetNanos = budgetNanos;
+        this.hardBudget = hardBudget;
+    }
+    
+    /**
+     * Start a new match: the schedule starts over, the statistics keep accumulating
+     */
+    public void reset() {
+        tick = 0;
+        Arrays.fill(deferred, false);
+    }
+    
+    public void beginTick(int enemyCount) {
+        if (deferred.length < enemyCount) {
+            deferred = Arrays.copyOf(deferred, enemyCount);
+        }
+        plannedNanos = 0;
+        deferrals = 0;
+    }
+    
+    /**
+     * Whether the enemy at this index of the enemy list decides its move this tick
+     */
+    public boolean isDue(int index, Tank enemy, Tank playerTank) {
+        dueTicks = interval(enemy, playerTank);
+        if (deferred[index]) {
+            deferred[index] = false;
+            return true;
+        }
+        if ((tick + enemy.getId()) % dueTicks != 0) {
+            return false;
+        }
+        if (hardBudget) {
+            if (plannedNanos >= budgetNanos) {
+                deferred[index] = true;
+                deferrals++;
+                return false;
+            }
+            plannedNanos += getAverageDecisionNanos();
+        }
+        return true;
+    }
+    
+    /**
+     * Ticks between the enemy's decisions at its distance from the player
+     */
+    private static int interval(Tank enemy, Tank playerTank) {
+        double dx = enemy.getCenterX() - playerTank.getCenterX();
+        double dy = enemy.getCenterY() - playerTank.getCenterY();
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared < NEAR_DISTANCE * NEAR_DISTANCE) {
+            return 1;
+        }
+        return distanceSquared < MID_DISTANCE * MID_DISTANCE ? MID_INTERVAL : FAR_INTERVAL;
+    }
+    
+    /**
+     * Ticks the decision granted by the last isDue call stands for
+     */
+    public int getDueTicks() {
+        return dueTicks;
+    }
+    
+    /**
+     * @param decisions number of tanks that decided this tick
+     * @param phaseNanos wall-clock time of the whole decision phase
+     */
+    public void endTick(int decisions, long phaseNanos) {
+        tickTimes.record(phaseNanos);
+        if (phaseNanos > budgetNanos) {
+            overrunCount++;
+        }
+        totalDecisions += decisions;
+        totalPhaseNanos += phaseNanos;
+        lastDecisions = decisions;
+        lastDeferrals = deferrals;
+        tick++;
+    }
+    
+    long getTick() {
+        return tick;
+    }
+    
+    /**
+     * Resume the schedule of a restored match
+     */
+    void restoreTick(long tick) {
+        this.tick = tick;
+        Arrays.fill(deferred, false);
+    }
+    
+    public long getBudgetNanos() { return budgetNanos; }
+    public boolean isHardBudget() { return hardBudget; }
+    public long getOverrunCount() { return overrunCount; }
+    public int getLastDecisionCount() { return lastDecisions; }
+    public int getLastDeferralCount() { return lastDeferrals; }
+    public long getDecisionCount() { return totalDecisions; }
+    /** Wall-clock phase time per decision, so parallel phases come out cheaper */
+    public double getAverageDecisionNanos() { return totalDecisions == 0 ? 0 : totalPhaseNanos / (double) totalDecisions; }
+    public LatencyHistogram getTickTimes() { return tickTimes; }
+}
@@ -0,0 +1,75 @@
+package com.tankgame.core;
+
+/**
+ * Fixed-timestep accumulator: turns variable frame timestamps into a whole number of
+ * simulation steps, so game speed doesn't depend on the display refresh rate.
+ * Catch-up after a hitch is capped; time beyond the cap is dropped.
+ */
+public class FixedTimestepLoop {
+    private final long stepNanos;
+    private final int maxStepsPerFrame;
+    
+    private long lastTime = -1;
+    private long accumulator;
+    private int lastSteps;
+    private long totalSteps;
+    private long totalFrames;
+    
+    public FixedTimestepLoop(double stepSeconds, int maxStepsPerFrame) {
+        this.stepNanos = Math.round(stepSeconds * 1_000_000_000L);
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+    
+    /**
+     * Record a frame at the given timestamp and return how many steps to simulate for it
+     */
+    public int advance(long nowNanos) {
+        if (lastTime < 0) {
+            lastTime = nowNanos;
+        }
+        
+        accumulator += nowNanos - lastTime;
+        lastTime = nowNanos;
+        
+        int steps = (int) Math.min(accumulator / stepNanos, maxStepsPerFrame);
+        accumulator -= steps * stepNanos;
+        
+        // Still behind after the capped catch-up: drop the backlog instead of spiralling
+        if (accumulator >= stepNanos) {
+            accumulator = stepNanos - 1;
+        }
+        
+        lastSteps = steps;
+        totalSteps += steps;
+        totalFrames++;
+        return steps;
+    }
+    
+    /**
+     * Fraction of a step left in the accumulator, used to blend previous and current positions
+     */
+    public double getAlpha() {
+        return accumulator / (double) stepNanos;
+    }
+    
+    public double getStepSeconds() {
+        return stepNanos / 1_000_000_000.0;
+    }
+    
+    public int getLastSteps() {
+        return lastSteps;
+    }
+    
+    public double getAverageStepsPerFrame() {
+        return totalFrames == 0 ? 0 : totalSteps / (double) totalFrames;
+    }
+    
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+    
+    public void resetStats() {
+        totalSteps = 0;
+        totalFrames = 0;
+    }
+}
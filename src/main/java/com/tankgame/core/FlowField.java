@@ -0,0 +1,187 @@
+package com.tankgame.core;
+
+import com.tankgame.model.Direction;
+import com.tankgame.model.Tank;
+import java.util.Arrays;
+
+/**
+ * Breadth-first distance field over a coarse grid of the map, counting cells to a goal
+ * (the player). One field is shared by every tank chasing that goal: it is rebuilt only
+ * when the goal enters another cell, and a tank finds its way by stepping to a neighbour
+ * that is one cell closer. Cells touched by a wall, or too close to the map edge for a
+ * tank centered in them, are blocked. Cells are somewhat larger than a tank, so a tank
+ * centered in its lane can pass between free cells without touching a wall.
+ */
+public class FlowField {
+    private static final int UNREACHABLE = -1;
+    
+    private final double cellSize;
+    // How far off the middle of its lane a tank may be and still fit between the walls beside it
+    private final double laneSlack;
+    private final int columns;
+    private final int rows;
+    private final boolean[] blocked;
+    private final int[] distance;
+    private final int[] queue;
+    private int goalCell = -1;
+    private int rebuildCount;
+    private long lastRebuildNanos;
+    
+    public FlowField(StaticGeometryIndex wallIndex, double width, double height, double cellSize, double agentSize) {
+        this.cellSize = cellSize;
+        this.laneSlack = (cellSize - agentSize) / 2;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.blocked = new boolean[columns * rows];
+        this.distance = new int[columns * rows];
+        this.queue = new int[columns * rows];
+        Arrays.fill(distance, UNREACHABLE);
+        
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                double x = col * cellSize;
+                double y = row * cellSize;
+                boolean outside = x + laneSlack + agentSize > width || y + laneSlack + agentSize > height;
+                blocked[row * columns + col] = outside || wallIndex.intersects(x, y, cellSize, cellSize);
+            }
+        }
+    }
+    
+    /**
+     * Move the goal; the field is only rebuilt when it lands in another cell.
+     * Returns true when it was rebuilt.
+     */
+    public boolean update(double goalX, double goalY) {
+        int cell = cellIndex(goalX, goalY);
+        if (cell == goalCell) {
+            return false;
+        }
+        goalCell = cell;
+        
+        long start = System.nanoTime();
+        Arrays.fill(distance, UNREACHABLE);
+        // The goal itself may sit in a blocked cell (e.g. the player brushing a wall)
+        distance[cell] = 0;
+        queue[0] = cell;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int current = queue[head++];
+            int next = distance[current] + 1;
+            int col = current % columns;
+            if (col > 0) tail = visit(current - 1, next, tail);
+            if (col < columns - 1) tail = visit(current + 1, next, tail);
+            if (current >= columns) tail = visit(current - columns, next, tail);
+            if (current < distance.length - columns) tail = visit(current + columns, next, tail);
+        }
+        rebuildCount++;
+        lastRebuildNanos = System.nanoTime() - start;
+        return true;
+    }
+    
+    private int visit(int cell, int next, int tail) {
+        if (blocked[cell] || distance[cell] != UNREACHABLE) {
+            return tail;
+        }
+        distance[cell] = next;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+    
+    /**
+     * Direction that takes the tank one cell closer to the goal, keeping the preferred
+     * direction when it is one of the shortest ones. Before turning onto another axis the
+     * tank first lines up with the middle of its cell, so it clears the walls beside the lane.
+     * Returns null when the tank's cell is the goal's, blocked or cut off from the goal.
+     */
+    public Direction steer(Tank tank, Direction preferred) {
+        double centerX = tank.getCenterX();
+        double centerY = tank.getCenterY();
+        int cell = cellIndex(centerX, centerY);
+        int cellDistance = distance[cell];
+        if (cellDistance <= 0 || blocked[cell]) {
+            return null;
+        }
+        
+        Direction direction = closerDirection(cell, cellDistance, preferred);
+        
+        // Anywhere within the lane's slack counts as lined up, so a tank that only re-decides
+        // every few ticks still hits the window; and never less than half a step, so a fast
+        // tank can't overshoot back and forth
+        double tolerance = Math.max(laneSlack, tank.getSpeed() * GameEngine.FIXED_TIMESTEP / 2);
+        if (direction.getDx() != 0) {
+            double offset = (cell / columns + 0.5) * cellSize - centerY;
+            if (Math.abs(offset) > tolerance) {
+                return offset > 0 ? Direction.DOWN : Direction.UP;
+            }
+        } else {
+            double offset = (cell % columns + 0.5) * cellSize - centerX;
+            if (Math.abs(offset) > tolerance) {
+                return offset > 0 ? Direction.RIGHT : Direction.LEFT;
+            }
+        }
+        return direction;
+    }
+    
+    private Direction closerDirection(int cell, int cellDistance, Direction preferred) {
+        int target = cellDistance - 1;
+        if (preferred != null && distance(cell, preferred) == target) {
+            return preferred;
+        }
+        
+        // Otherwise favour the axis with more ground left to the goal, for straighter paths
+        int col = cell % columns;
+        int row = cell / columns;
+        boolean horizontalFirst = Math.abs(goalCell % columns - col) >= Math.abs(goalCell / columns - row);
+        Direction horizontal = goalCell % columns > col ? Direction.RIGHT : Direction.LEFT;
+        Direction vertical = goalCell / columns > row ? Direction.DOWN : Direction.UP;
+        Direction first = horizontalFirst ? horizontal : vertical;
+        Direction second = horizontalFirst ? vertical : horizontal;
+        if (distance(cell, first) == target) {
+            return first;
+        }
+        if (distance(cell, second) == target) {
+            return second;
+        }
+        
+        // The shortest path leads away from the goal first (around a wall)
+        if (distance(cell, first.opposite()) == target) {
+            return first.opposite();
+        }
+        return second.opposite();
+    }
+    
+    private int distance(int cell, Direction direction) {
+        int col = cell % columns + direction.getDx();
+        int row = cell / columns + direction.getDy();
+        if (col < 0 || col >= columns || row < 0 || row >= rows) {
+            return UNREACHABLE;
+        }
+        return distance[row * columns + col];
+    }
+    
+    /**
+     * Cells between the point and the goal, or -1 when no path exists
+     */
+    public int getDistance(double x, double y) {
+        return distance[cellIndex(x, y)];
+    }
+    
+    public boolean isBlocked(double x, double y) {
+        return blocked[cellIndex(x, y)];
+    }
+    
+    private int cellIndex(double x, double y) {
+        int col = (int) Math.floor(x / cellSize);
+        int row = (int) Math.floor(y / cellSize);
+        col = col < 0 ? 0 : (col >= columns ? columns - 1 : col);
+        row = row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+        return row * columns + col;
+    }
+    
+    public double getCellSize() { return cellSize; }
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+    public int getRebuildCount() { return rebuildCount; }
+    public long getLastRebuildNanos() { return lastRebuildNanos; }
+}
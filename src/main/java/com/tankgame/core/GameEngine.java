@@ -3,20 +3,41 @@ package com.tankgame.core;
 import com.tankgame.model.*;
 import com.tankgame.factory.GameObjectFactory;
 import com.tankgame.observer.*;
-import javafx.scene.input.KeyCode;
+import com.tankgame.strategy.AggressiveMovementStrategy;
+import com.tankgame.strategy.MovementStrategy;
+import com.tankgame.telemetry.TelemetryEvent;
+import com.tankgame.telemetry.TelemetrySink;
+import com.tankgame.util.SeededRandom;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * Singleton Pattern: Core game engine managing game state and logic
+ * Core game engine managing game state and logic.
+ * Has no UI toolkit dependency, so any number of engines can run headless side by side.
  */
 public class GameEngine {
-    private static GameEngine instance;
+    public static final double FIXED_TIMESTEP = 1.0 / 60; // seconds per simulation step
     
-    private static final double MAP_WIDTH = 1000;
-    private static final double MAP_HEIGHT = 800;
-    private static final int INITIAL_ENEMY_COUNT = 6;
     private static final int INITIAL_LIVES = 3;
-    private static final double ENEMY_FIRE_RATE = 0.01; 
+    private static final double AUTOPILOT_FIRE_RATE = 0.05;
+    private static final double GRID_CELL_SIZE = 64;
+    private static final double WALL_INDEX_CELL_SIZE = 10;
+    // Coarse grid over the walls for area queries (rendering); collisions use the wall index
+    private static final double WALL_GRID_CELL_SIZE = 256;
+    // Upper bound on wall index cells; huge maps get coarser cells instead of a huge raster
+    private static final double MAX_WALL_INDEX_CELLS = 4_000_000;
+    private static final double GENERATED_WALL_THICKNESS = 40;
+    // A little wider than a tank, so a tank centered in a free cell clears the walls around it
+    private static final double FLOW_FIELD_CELL_SIZE = 50;
+    // Generated walls and enemies stay out of this distance around the player spawn
+    private static final double SPAWN_CLEARANCE = 150;
+    
+    private final Scenario scenario;
+    // All simulation randomness (AI, firing, med packs) comes from this seed
+    private final long seed;
+    private final SeededRandom random;
+    private final double mapWidth;
+    private final double mapHeight;
     
     private Tank playerTank;
     private List<Tank> enemyTanks;
@@ -25,33 +46,73 @@ public class GameEngine {
     private List<MedPack> medPacks;
     private List<Explosion> explosions;
     private List<GameObject> allObjects;
+    private SpatialGrid spatialGrid;
+    private StaticGeometryIndex wallIndex;
+    private SpatialGrid wallGrid;
+    // Shared path toward the player for enemies that chase
+    private FlowField flowField;
+    private LineOfSight lineOfSight;
+    private List<GameObject> nearbyObjects;
+    private Set<GameObject> removedObjects;
     
     private GameObjectFactory factory;
     private GameEventManager eventManager;
+    private final TelemetrySink telemetry;
     
     private int score;
     private int lives;
+    // Kept up to date as enemies die, so nobody has to scan enemyTanks to count them
+    private int activeEnemyCount;
     private GameState gameState;
-    private Set<KeyCode> pressedKeys;
+    private Set<PlayerCommand> activeCommands;
+    private MovementStrategy autopilot;
+    private InputRecorder inputRecorder;
+    // Ids keep counting across restarts, so they stay in creation order within enemyTanks
+    private int nextObjectId;
+    private final TickProfiler profiler = new TickProfiler();
+    private final AiScheduler aiScheduler = new AiScheduler();
+    private AiDecisionPhase aiDecisions = new AiDecisionPhase();
+    // Benchmark hook: move tanks and pick up med packs by scanning every object instead
+    private boolean linearBroadPhase;
     
     public enum GameState {
         PLAYING, PAUSED, WON, LOST
     }
     
-    private GameEngine() {
+    public GameEngine() {
+        this(Scenario.CLASSIC);
+    }
+    
+    /**
+     * Engine whose simulation is seeded from the scenario, so the same inputs give the same match
+     */
+    public GameEngine(Scenario scenario) {
+        this(scenario, scenario.getSeed());
+    }
+    
+    public GameEngine(Scenario scenario, long seed) {
+        this(scenario, seed, TelemetrySink.disabled());
+    }
+    
+    /**
+     * Engine that records telemetry into the given sink; the others record nothing, so headless
+     * tools don't start the writer thread or create log files
+     */
+    public GameEngine(Scenario scenario, long seed, TelemetrySink telemetry) {
+        this.scenario = scenario;
+        this.seed = seed;
+        this.random = new SeededRandom(seed);
+        this.mapWidth = scenario.getMapWidth();
+        this.mapHeight = scenario.getMapHeight();
         factory = GameObjectFactory.getInstance();
         eventManager = new GameEventManager();
-        pressedKeys = new HashSet<>();
+        this.telemetry = telemetry;
+        activeCommands = EnumSet.noneOf(PlayerCommand.class);
+        nearbyObjects = new ArrayList<>();
+        removedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
         initializeGame();
     }
     
-    public static GameEngine getInstance() {
-        if (instance == null) {
-            instance = new GameEngine();
-        }
-        return instance;
-    }
-    
     public void initializeGame() {
         enemyTanks = new ArrayList<>();
         missiles = new ArrayList<>();
@@ -59,27 +120,61 @@ public class GameEngine {
         medPacks = new ArrayList<>();
         explosions = new ArrayList<>();
         allObjects = new ArrayList<>();
+        spatialGrid = new SpatialGrid(mapWidth, mapHeight, GRID_CELL_SIZE);
+        removedObjects.clear();
+        aiScheduler.reset();
         
         score = 0;
         lives = INITIAL_LIVES;
         gameState = GameState.PLAYING;
         
         // Create player tank
-        playerTank = factory.createPlayerTank(MAP_WIDTH / 2, MAP_HEIGHT - 100);
-        allObjects.add(playerTank);
+        playerTank = factory.createPlayerTank(mapWidth / 2, mapHeight - 100);
+        addObject(playerTank);
+        
+        // Generated layouts are reproducible: walls and spawn points come from the scenario seed
+        Random layoutRandom = new Random(scenario.getSeed());
         
-        // Create enemy tanks
-        createEnemyTanks();
+        // Create walls and index them once for the level
+        if (scenario.isClassicLayout()) {
+            createWalls();
+        } else {
+            generateWalls(layoutRandom);
+        }
+        for (Wall wall : walls) {
+            wall.setId(nextObjectId++);
+        }
+        double indexCellSize = Math.max(WALL_INDEX_CELL_SIZE, Math.sqrt(mapWidth * mapHeight / MAX_WALL_INDEX_CELLS));
+        wallIndex = new StaticGeometryIndex(walls, mapWidth, mapHeight, indexCellSize);
+        wallGrid = new SpatialGrid(mapWidth, mapHeight, WALL_GRID_CELL_SIZE);
+        walls.forEach(wallGrid::insert);
+        flowField = new FlowField(wallIndex, mapWidth, mapHeight, FLOW_FIELD_CELL_SIZE, Tank.TANK_SIZE);
+        lineOfSight = new LineOfSight(wallIndex);
         
-        // Create walls
-        createWalls();
+        // Create enemy tanks (after the walls, so random spawns can avoid them)
+        createEnemyTanks(layoutRandom);
         
         // Create med packs
         createMedPacks();
+        
+        // A restart resets every HUD value
+        activeEnemyCount = enemyTanks.size();
+        eventManager.publish(GameEvent.SCORE_CHANGED, score);
+        eventManager.publish(GameEvent.LIVES_CHANGED, lives);
+        eventManager.publish(GameEvent.ENEMY_COUNT_CHANGED, activeEnemyCount);
+        eventManager.publish(GameEvent.PLAYER_HEALTH_CHANGED, playerTank.getHealth());
+        eventManager.dispatch();
+    }
+    
+    private void createEnemyTanks(Random layoutRandom) {
+        int placed = 0;
+        if (scenario.isClassicLayout()) {
+            placed = createClassicEnemyTanks();
+        }
+        spawnEnemies(scenario.getEnemyCount() - placed, layoutRandom);
     }
     
-    private void createEnemyTanks() {
-        Random random = new Random();
+    private int createClassicEnemyTanks() {
         // Spread enemies across the entire map in OPEN areas (away from walls)
         // Positions carefully chosen to avoid wall collisions at spawn
         double[][] positions = {
@@ -91,16 +186,90 @@ public class GameEngine {
             {500, 650}    // Bottom center - open area
         };
         
-        for (int i = 0; i < INITIAL_ENEMY_COUNT; i++) {
+        int count = Math.min(positions.length, scenario.getEnemyCount());
+        for (int i = 0; i < count; i++) {
             double x = positions[i][0];
             double y = positions[i][1];
             
             // Mix of random and aggressive AI (50/50 split)
             boolean aggressive = i % 2 == 0;
-            Tank enemy = factory.createEnemyTank(x, y, aggressive);
+            Tank enemy = factory.createEnemyTank(x, y, aggressive, new SeededRandom(random.nextLong()));
             enemyTanks.add(enemy);
-            allObjects.add(enemy);
+            addObject(enemy);
         }
+        return count;
+    }
+    
+    /**
+     * Add enemies at random spots clear of walls, other tanks and the player spawn
+     */
+    private void spawnEnemies(int count, Random random) {
+        int attempts = 0;
+        int spawned = 0;
+        
+        while (spawned < count && attempts < count * 20) {
+            attempts++;
+            double x = random.nextDouble() * (mapWidth - 40);
+            double y = random.nextDouble() * (mapHeight - 40);
+            
+            Tank enemy = factory.createEnemyTank(x, y, random.nextDouble() < scenario.getAggressiveRatio(),
+                new SeededRandom(this.random.nextLong()));
+            if (wallIndex.intersects(enemy) || nearPlayerSpawn(x, y, enemy.getWidth(), enemy.getHeight())) {
+                continue;
+            }
+            spatialGrid.query(x, y, enemy.getWidth(), enemy.getHeight(), nearbyObjects);
+            boolean blocked = false;
+            for (GameObject obj : nearbyObjects) {
+                if (obj.isSolid() && obj.intersects(enemy)) {
+                    blocked = true;
+                    break;
+                }
+            }
+            if (blocked) {
+                continue;
+            }
+            
+            enemyTanks.add(enemy);
+            addObject(enemy);
+            spawned++;
+        }
+        
+        if (spawned < count) {
+            telemetry.record(TelemetryEvent.MAP_FULL, spawned, count);
+        }
+    }
+    
+    /**
+     * Scatter straight wall segments until the scenario's wall density is reached
+     */
+    private void generateWalls(Random random) {
+        double targetArea = mapWidth * mapHeight * scenario.getWallDensity();
+        double coveredArea = 0;
+        
+        while (coveredArea < targetArea) {
+            // One to four blocks long, horizontal or vertical
+            double length = GENERATED_WALL_THICKNESS * (1 + random.nextInt(4));
+            boolean horizontal = random.nextBoolean();
+            double width = horizontal ? length : GENERATED_WALL_THICKNESS;
+            double height = horizontal ? GENERATED_WALL_THICKNESS : length;
+            double x = random.nextDouble() * (mapWidth - width);
+            double y = random.nextDouble() * (mapHeight - height);
+            
+            // Count the area even when skipped, so a crowded spawn zone can't loop forever
+            coveredArea += width * height;
+            if (!nearPlayerSpawn(x, y, width, height)) {
+                walls.add(factory.createWall(x, y, width, height));
+            }
+        }
+        
+        allObjects.addAll(walls);
+    }
+    
+    private boolean nearPlayerSpawn(double x, double y, double width, double height) {
+        double spawnX = mapWidth / 2;
+        double spawnY = mapHeight - 100;
+        return x < spawnX + 40 + SPAWN_CLEARANCE && x + width > spawnX - SPAWN_CLEARANCE &&
+               y < spawnY + 40 + SPAWN_CLEARANCE && y + height > spawnY - SPAWN_CLEARANCE;
     }
     
     private void createWalls() {
@@ -139,6 +308,7 @@ public class GameEngine {
         walls.add(factory.createWall(350, 500, wallSize, wallSize));
         walls.add(factory.createWall(600, 500, wallSize, wallSize));
         
+        // Walls are static: they go to the wall index instead of the spatial grid
         allObjects.addAll(walls);
     }
     
@@ -147,10 +317,11 @@ public class GameEngine {
         respawnMedPacks();
     }
     
-    private void respawnMedPacks() {
+    // Package-private so the benchmark module can measure it directly
+    void respawnMedPacks() {
         // Respawn med packs in different random locations (avoiding walls and other med packs)
-        Random random = new Random();
-        int numPacks = 5 + random.nextInt(3); // Spawn 5-7 med packs
+        int numPacks = scenario.getMinMedPacks() +
+            random.nextInt(scenario.getMaxMedPacks() - scenario.getMinMedPacks() + 1);
         
         for (int i = 0; i < numPacks; i++) {
             boolean validPosition = false;
@@ -159,21 +330,14 @@ public class GameEngine {
             
             // Try to find a valid position (not on wall, not too close to other packs)
             while (!validPosition && attempts < 50) {
-                x = 100 + random.nextDouble() * 800;
-                y = 100 + random.nextDouble() * 600;
+                x = 100 + random.nextDouble() * (mapWidth - 200);
+                y = 100 + random.nextDouble() * (mapHeight - 200);
                 
                 // Create temporary med pack to check collision
                 MedPack tempPack = factory.createMedPack(x, y);
                 
-                boolean collisionDetected = false;
-                
                 // Check collision with walls
-                for (Wall wall : walls) {
-                    if (tempPack.intersects(wall)) {
-                        collisionDetected = true;
-                        break;
-                    }
-                }
+                boolean collisionDetected = wallIndex.intersects(tempPack);
                 
                 // Check distance from other med packs (minimum 180 pixels for strategic gameplay)
                 if (!collisionDetected) {
@@ -202,137 +366,233 @@ public class GameEngine {
             if (validPosition) {
                 MedPack medPack = factory.createMedPack(x, y);
                 medPacks.add(medPack);
-                allObjects.add(medPack);
+                addObject(medPack);
             }
         }
         
-        System.out.println("🎁 Med packs respawned! New count: " + medPacks.size());
+        telemetry.record(TelemetryEvent.MEDPACKS_RESPAWNED, medPacks.size());
+    }
+    
+    // Package-private: lets benchmarks respawn med packs into an empty map repeatedly
+    void clearMedPacks() {
+        for (MedPack medPack : medPacks) {
+            removeObject(medPack);
+        }
+        medPacks.clear();
+        flushRemovals();
     }
     
     public void update() {
+        update(FIXED_TIMESTEP);
+    }
+    
+    /**
+     * Advance the simulation by one step of dt seconds
+     */
+    public void update(double dt) {
         if (gameState != GameState.PLAYING) {
             return;
         }
         
+        // Each lap records the phase that just finished; a no-op while the profiler is off
+        long tickStart = profiler.beginTick();
+        
+        // Remember where everything was so the renderer can interpolate
+        for (GameObject obj : allObjects) {
+            obj.savePreviousPosition();
+        }
+        long lap = profiler.lap(TickProfiler.Phase.PREPARE, tickStart);
+        
         // Update player
-        handlePlayerInput();
-        playerTank.update();
+        handlePlayerInput(dt);
+        playerTank.update(dt);
+        lap = profiler.lap(TickProfiler.Phase.INPUT, lap);
         
         // Update enemies
-        updateEnemyTanks();
+        updateEnemyTanks(dt);
+        lap = profiler.lap(TickProfiler.Phase.ENEMY_AI, lap);
         
         // Update missiles
-        updateMissiles();
+        updateMissiles(dt);
+        lap = profiler.lap(TickProfiler.Phase.MISSILES, lap);
         
         // Update explosions
-        updateExplosions();
+        updateExplosions(dt);
+        lap = profiler.lap(TickProfiler.Phase.EXPLOSIONS, lap);
         
-        // Lambda & Stream: Update all med packs using forEach with method reference
-        medPacks.forEach(MedPack::update);
+        // Lambda & Stream: Update all med packs
+        medPacks.forEach(medPack -> medPack.update(dt));
         
         // Respawn med packs if all collected
         if (medPacks.isEmpty()) {
             respawnMedPacks();
         }
+        lap = profiler.lap(TickProfiler.Phase.MEDPACKS, lap);
         
         // Check collisions
         checkCollisions();
+        lap = profiler.lap(TickProfiler.Phase.COLLISIONS, lap);
         
         // Check win/lose conditions
         checkGameConditions();
+        lap = profiler.lap(TickProfiler.Phase.GAME_CONDITIONS, lap);
+        
+        flushRemovals();
+        lap = profiler.lap(TickProfiler.Phase.CLEANUP, lap);
+        
+        // Listeners run after the tick, with the world in a settled state
+        eventManager.dispatch();
+        profiler.lap(TickProfiler.Phase.EVENTS, lap);
+        
+        if (inputRecorder != null) {
+            inputRecorder.recordTick(this);
+        }
+        profiler.endTick(tickStart);
     }
     
-    private void handlePlayerInput() {
+    private void handlePlayerInput(double dt) {
         if (!playerTank.isActive()) return;
         
         Direction moveDirection = null;
-        
-        if (pressedKeys.contains(KeyCode.UP) || pressedKeys.contains(KeyCode.W)) {
-            moveDirection = Direction.UP;
-        } else if (pressedKeys.contains(KeyCode.DOWN) || pressedKeys.contains(KeyCode.S)) {
-            moveDirection = Direction.DOWN;
-        } else if (pressedKeys.contains(KeyCode.LEFT) || pressedKeys.contains(KeyCode.A)) {
-            moveDirection = Direction.LEFT;
-        } else if (pressedKeys.contains(KeyCode.RIGHT) || pressedKeys.contains(KeyCode.D)) {
-            moveDirection = Direction.RIGHT;
+        boolean fire;
+        
+        if (autopilot != null) {
+            // AI-controlled player: chase the nearest enemy and fire at random
+            moveDirection = autopilot.getNextMove(playerTank, allObjects, findNearestEnemy());
+            fire = random.nextDouble() < AUTOPILOT_FIRE_RATE;
+        } else {
+            if (activeCommands.contains(PlayerCommand.MOVE_UP)) {
+                moveDirection = Direction.UP;
+            } else if (activeCommands.contains(PlayerCommand.MOVE_DOWN)) {
+                moveDirection = Direction.DOWN;
+            } else if (activeCommands.contains(PlayerCommand.MOVE_LEFT)) {
+                moveDirection = Direction.LEFT;
+            } else if (activeCommands.contains(PlayerCommand.MOVE_RIGHT)) {
+                moveDirection = Direction.RIGHT;
+            }
+            fire = activeCommands.contains(PlayerCommand.FIRE);
         }
         
         if (moveDirection != null) {
-            playerTank.move(moveDirection, allObjects, MAP_WIDTH, MAP_HEIGHT);
+            moveTank(playerTank, moveDirection, dt);
         }
         
-        if (pressedKeys.contains(KeyCode.SPACE)) {
+        if (fire) {
             Missile missile = playerTank.fire();
             if (missile != null) {
                 missiles.add(missile);
-                allObjects.add(missile);
+                addObject(missile);
             }
         }
     }
     
-    private void updateEnemyTanks() {
-        Random random = new Random();
+    private Tank findNearestEnemy() {
+        Tank nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
         
         for (Tank enemy : enemyTanks) {
             if (!enemy.isActive()) continue;
             
-            // Get AI movement
-            Direction aiDirection = enemy.getMovementStrategy().getNextMove(enemy, allObjects, playerTank);
-            if (aiDirection != null) {
-                enemy.move(aiDirection, allObjects, MAP_WIDTH, MAP_HEIGHT);
+            double dx = enemy.getCenterX() - playerTank.getCenterX();
+            double dy = enemy.getCenterY() - playerTank.getCenterY();
+            double distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = enemy;
+            }
+        }
+        return nearest;
+    }
+    
+    private void updateEnemyTanks(double dt) {
+        // One rebuild per player cell change serves every chasing tank
+        if (playerTank.isActive()) {
+            flowField.update(playerTank.getCenterX(), playerTank.getCenterY());
+        }
+        
+        // Decide first, for every due tank at once, then move them one by one in list order;
+        // a tank's decision never sees another tank's move from the same tick
+        int enemyCount = enemyTanks.size();
+        aiScheduler.beginTick(enemyCount);
+        aiDecisions.clear(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            Tank enemy = enemyTanks.get(i);
+            if (enemy.isActive() && aiScheduler.isDue(i, enemy, playerTank)) {
+                aiDecisions.add(i, aiScheduler.getDueTicks());
+            }
+        }
+        long phaseStart = System.nanoTime();
+        aiDecisions.run(enemyTanks, allObjects, playerTank, flowField);
+        long phaseNanos = System.nanoTime() - phaseStart;
+        
+        int dueCount = aiDecisions.getDueCount();
+        int slot = 0;
+        for (int i = 0; i < enemyCount; i++) {
+            Tank enemy = enemyTanks.get(i);
+            if (!enemy.isActive()) continue;
+            
+            // Tanks that didn't decide this tick keep going in their last direction
+            if (slot < dueCount && aiDecisions.getIndex(slot) == i) {
+                Direction aiDirection = aiDecisions.getDecision(slot);
+                slot++;
+                if (aiDirection != null) {
+                    moveTank(enemy, aiDirection, dt);
+                }
+            } else {
+                moveTank(enemy, null, dt);
             }
             
-          
-            if (random.nextDouble() < ENEMY_FIRE_RATE) {
+            // Only take the shot when it can reach the player; most others would end in a wall
+            if (random.nextDouble() < scenario.getEnemyFireRate() && lineOfSight.canHit(enemy, playerTank)) {
                 Missile missile = enemy.fire();
                 if (missile != null) {
                     missiles.add(missile);
-                    allObjects.add(missile);
+                    addObject(missile);
                 }
             }
             
-            enemy.update();
+            enemy.update(dt);
         }
+        aiScheduler.endTick(dueCount, phaseNanos);
     }
     
-    private void updateMissiles() {
+    private void updateMissiles(double dt) {
         // Lambda & Stream: Use removeIf with lambda expression for cleaner code
         missiles.removeIf(missile -> {
-            if (!missile.isActive() || missile.isOutOfBounds(MAP_WIDTH, MAP_HEIGHT)) {
+            if (!missile.isActive() || missile.isOutOfBounds(mapWidth, mapHeight)) {
                 missile.setActive(false);
-                allObjects.remove(missile);
+                removeObject(missile);
                 return true; // Remove from list
             } else {
-                missile.update();
+                missile.update(dt);
+                spatialGrid.update(missile);
                 return false; // Keep in list
             }
         });
     }
     
-    private void updateExplosions() {
+    private void updateExplosions(double dt) {
         // Lambda & Stream: Cleaner iteration with forEach and removeIf
-        explosions.forEach(Explosion::update); // Method reference for update
+        explosions.forEach(explosion -> explosion.update(dt));
         
         explosions.removeIf(explosion -> {
             if (!explosion.isActive()) {
-                allObjects.remove(explosion);
+                removeObject(explosion);
                 return true;
             }
             return false;
         });
     }
     
-    private void checkCollisions() {
+    // Package-private so the benchmark module can measure it directly
+    void checkCollisions() {
         // Check missile collisions
         for (Missile missile : new ArrayList<>(missiles)) {
             if (!missile.isActive()) continue;
             
             // Check collision with walls
-            for (Wall wall : walls) {
-                if (missile.intersects(wall)) {
-                    missile.setActive(false);
-                    break;
-                }
+            if (wallIndex.intersects(missile)) {
+                missile.setActive(false);
             }
             
             // Check collision with tanks
@@ -344,9 +604,13 @@ public class GameEngine {
                         missile.setActive(false);
                         
                         if (!enemy.isActive()) {
+                            spatialGrid.remove(enemy);
                             createExplosion(enemy.getCenterX(), enemy.getCenterY());
                             score += 10;
-                            eventManager.notifyListeners(GameEvent.ENEMY_DESTROYED, enemy);
+                            activeEnemyCount--;
+                            eventManager.publish(GameEvent.ENEMY_DESTROYED, enemy);
+                            eventManager.publish(GameEvent.SCORE_CHANGED, score);
+                            eventManager.publish(GameEvent.ENEMY_COUNT_CHANGED, activeEnemyCount);
                         }
                         break;
                     }
@@ -356,11 +620,14 @@ public class GameEngine {
                 if (playerTank.isActive() && missile.intersects(playerTank)) {
                     playerTank.takeDamage(missile.getDamage());
                     missile.setActive(false);
+                    eventManager.publish(GameEvent.PLAYER_HEALTH_CHANGED, playerTank.getHealth());
                     
                     if (!playerTank.isActive()) {
+                        spatialGrid.remove(playerTank);
                         createExplosion(playerTank.getCenterX(), playerTank.getCenterY());
                         lives--;
-                        eventManager.notifyListeners(GameEvent.PLAYER_DESTROYED, playerTank);
+                        eventManager.publish(GameEvent.PLAYER_DESTROYED, playerTank);
+                        eventManager.publish(GameEvent.LIVES_CHANGED, lives);
                         
                         if (lives > 0) {
                             respawnPlayer();
@@ -383,20 +650,27 @@ public class GameEngine {
             if (playerTank.isActive() && playerTank.intersects(medPack)) {
                 int oldHealth = playerTank.getHealth();
                 playerTank.heal();
-                System.out.println("Med pack collected! Health: " + oldHealth + " -> " + playerTank.getHealth());
+                telemetry.record(TelemetryEvent.MEDPACK_COLLECTED, oldHealth, playerTank.getHealth());
                 medPack.setActive(false);
-                allObjects.remove(medPack);
+                removeObject(medPack);
                 medPackIterator.remove();
-                eventManager.notifyListeners(GameEvent.MEDPACK_COLLECTED, medPack);
+                eventManager.publish(GameEvent.MEDPACK_COLLECTED, medPack);
+                eventManager.publish(GameEvent.PLAYER_HEALTH_CHANGED, playerTank.getHealth());
                 continue;
             }
             
-            // Enemies can also collect med packs
-            for (Tank enemy : enemyTanks) {
-                if (enemy.isActive() && enemy.intersects(medPack)) {
-                    enemy.heal();
+            // Enemies can also collect med packs (only tanks in nearby grid cells are tested)
+            if (linearBroadPhase) {
+                nearbyObjects.clear();
+                nearbyObjects.addAll(enemyTanks);
+            } else {
+                spatialGrid.query(medPack.getX(), medPack.getY(), medPack.getWidth(), medPack.getHeight(), nearbyObjects);
+            }
+            for (GameObject obj : nearbyObjects) {
+                if (obj instanceof Tank && !((Tank) obj).isPlayer() && obj.isActive() && obj.intersects(medPack)) {
+                    ((Tank) obj).heal();
                     medPack.setActive(false);
-                    allObjects.remove(medPack);
+                    removeObject(medPack);
                     medPackIterator.remove();
                     break;
                 }
@@ -404,51 +678,190 @@ public class GameEngine {
         }
     }
     
+    private void moveTank(Tank tank, Direction direction, double dt) {
+        if (linearBroadPhase) {
+            tank.move(direction, allObjects, mapWidth, mapHeight, dt);
+            // Missile hits and spawning still look tanks up in the grid
+            spatialGrid.update(tank);
+        } else {
+            tank.move(direction, spatialGrid, wallIndex, mapWidth, mapHeight, dt);
+        }
+    }
+    
     private void createExplosion(double x, double y) {
         Explosion explosion = factory.createExplosion(x, y);
         explosions.add(explosion);
-        allObjects.add(explosion);
+        addObject(explosion);
+    }
+    
+    private void addObject(GameObject obj) {
+        obj.setId(nextObjectId++);
+        allObjects.add(obj);
+        spatialGrid.insert(obj);
+    }
+    
+    /**
+     * Take an object out of play. It leaves allObjects in one batched pass at the end
+     * of the tick instead of an O(n) ArrayList.remove per object.
+     */
+    private void removeObject(GameObject obj) {
+        if (removedObjects.add(obj)) {
+            spatialGrid.remove(obj);
+        }
+    }
+    
+    private void flushRemovals() {
+        if (removedObjects.isEmpty()) {
+            return;
+        }
+        
+        allObjects.removeIf(removedObjects::contains);
+        
+        // Only recycle once nothing in the world refers to them any more
+        for (GameObject obj : removedObjects) {
+            if (obj instanceof Missile) {
+                factory.releaseMissile((Missile) obj);
+            } else if (obj instanceof Explosion) {
+                factory.releaseExplosion((Explosion) obj);
+            }
+        }
+        removedObjects.clear();
     }
     
     private void respawnPlayer() {
-        playerTank = factory.createPlayerTank(MAP_WIDTH / 2, MAP_HEIGHT - 100);
+        playerTank = factory.createPlayerTank(mapWidth / 2, mapHeight - 100);
         
         // Replace in allObjects
         allObjects.removeIf(obj -> obj instanceof Tank && ((Tank) obj).isPlayer());
-        allObjects.add(playerTank);
+        addObject(playerTank);
+        eventManager.publish(GameEvent.PLAYER_HEALTH_CHANGED, playerTank.getHealth());
     }
     
     private void checkGameConditions() {
-        // Lambda & Stream: Check if all enemies are destroyed using functional approach
-        boolean allEnemiesDestroyed = enemyTanks.stream()
-                .noneMatch(Tank::isActive); // Method reference (shorthand lambda)
-        
-        if (allEnemiesDestroyed) {
+        if (activeEnemyCount == 0) {
             gameState = GameState.WON;
-            eventManager.notifyListeners(GameEvent.GAME_WON, null);
+            eventManager.publish(GameEvent.GAME_WON);
         }
         
-        // Check if player is out of lives
-        if (lives <= 0 && !playerTank.isActive()) {
+        // Check if player is out of lives; only one outcome per match
+        if (gameState == GameState.PLAYING && lives <= 0 && !playerTank.isActive()) {
             gameState = GameState.LOST;
-            eventManager.notifyListeners(GameEvent.GAME_LOST, null);
+            eventManager.publish(GameEvent.GAME_LOST);
         }
     }
     
-    public void keyPressed(KeyCode code) {
-        pressedKeys.add(code);
+    /**
+     * Collect the moving objects (tanks, missiles, med packs, explosions) whose grid cells
+     * overlap the area; callers do their own exact test if they need one
+     */
+    public void queryObjects(double x, double y, double width, double height, List<GameObject> result) {
+        spatialGrid.query(x, y, width, height, result);
+    }
+    
+    /**
+     * Collect the walls whose grid cells overlap the area
+     */
+    public void queryWalls(double x, double y, double width, double height, List<GameObject> result) {
+        wallGrid.query(x, y, width, height, result);
+    }
+    
+    public void commandPressed(PlayerCommand command) {
+        if (inputRecorder != null) {
+            inputRecorder.recordPress(command);
+        }
+        activeCommands.add(command);
         
-        if (code == KeyCode.ESCAPE) {
+        if (command == PlayerCommand.PAUSE) {
             togglePause();
         }
         
-        if (code == KeyCode.R && (gameState == GameState.WON || gameState == GameState.LOST)) {
+        if (command == PlayerCommand.RESTART && (gameState == GameState.WON || gameState == GameState.LOST)) {
             restart();
         }
     }
     
-    public void keyReleased(KeyCode code) {
-        pressedKeys.remove(code);
+    public void commandReleased(PlayerCommand command) {
+        if (inputRecorder != null) {
+            inputRecorder.recordRelease(command);
+        }
+        activeCommands.remove(command);
+    }
+    
+    /**
+     * Hand the player tank to an AI that hunts the nearest enemy, for headless AI-vs-AI matches
+     */
+    public void enableAutopilot() {
+        autopilot = new AggressiveMovementStrategy(new SeededRandom(random.nextLong()));
+    }
+    
+    public boolean isAutopilotEnabled() {
+        return autopilot != null;
+    }
+    
+    /**
+     * Record every command and simulated tick, or stop recording with null. Attach it right
+     * after construction (and enableAutopilot) so the replay starts from the seeded initial state.
+     */
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
+    }
+    
+    /**
+     * Benchmark hook: scan every object for tank movement and med pack pickup, as the engine
+     * did before the SpatialGrid broad phase, so the two can be timed on the same match
+     */
+    void setLinearBroadPhase(boolean linearBroadPhase) {
+        this.linearBroadPhase = linearBroadPhase;
+    }
+    
+    /**
+     * Where enemy AI decisions run, or null to run them on the simulation thread. Moves are
+     * applied serially either way, so this never changes the match.
+     */
+    public void setAiDecisionPool(ForkJoinPool pool) {
+        aiDecisions = new AiDecisionPhase(pool);
+    }
+    
+    /**
+     * Hash of the simulated state (positions, health, directions, score, lives) for spotting
+     * where two runs of the same replay diverge. Walks every object, so only call it when needed.
+     */
+    public int computeChecksum() {
+        long hash = 1125899906842597L;
+        hash = mix(hash, score);
+        hash = mix(hash, lives);
+        hash = mix(hash, gameState.ordinal());
+        // Typed lists rather than allObjects, so the result doesn't depend on how that list is ordered
+        hash = mixTank(hash, playerTank);
+        for (Tank enemy : enemyTanks) {
+            hash = mixTank(hash, enemy);
+        }
+        for (Missile missile : missiles) {
+            hash = mixPosition(hash, missile);
+        }
+        for (Explosion explosion : explosions) {
+            hash = mix(mixPosition(hash, explosion), explosion.getCurrentFrame());
+        }
+        for (MedPack medPack : medPacks) {
+            hash = mixPosition(hash, medPack);
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+    
+    private static long mixTank(long hash, Tank tank) {
+        hash = mixPosition(hash, tank);
+        hash = mix(hash, tank.getHealth());
+        return mix(hash, tank.getDirection().ordinal());
+    }
+    
+    private static long mixPosition(long hash, GameObject obj) {
+        hash = mix(hash, Double.doubleToLongBits(obj.getX()));
+        hash = mix(hash, Double.doubleToLongBits(obj.getY()));
+        return mix(hash, obj.isActive() ? 1 : 0);
+    }
+    
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * 0x100000001b3L + (hash >>> 29);
     }
     
     public void togglePause() {
@@ -460,20 +873,89 @@ public class GameEngine {
     }
     
     public void restart() {
+        missiles.forEach(factory::releaseMissile);
+        explosions.forEach(factory::releaseExplosion);
         allObjects.clear();
         initializeGame();
     }
     
+    // Package-private hooks for WorldSnapshot
+    List<Missile> getMissiles() { return missiles; }
+    List<Explosion> getExplosions() { return explosions; }
+    List<MedPack> getMedPacks() { return medPacks; }
+    SpatialGrid getSpatialGrid() { return spatialGrid; }
+    SeededRandom getRandom() { return random; }
+    MovementStrategy getAutopilot() { return autopilot; }
+    int getNextObjectId() { return nextObjectId; }
+    
+    void restoreAutopilot(SeededRandom autopilotRandom) {
+        autopilot = new AggressiveMovementStrategy(autopilotRandom);
+    }
+    
+    /**
+     * Last step of loading a snapshot: the typed lists hold the restored objects; rebuild
+     * everything derived from them and tell listeners about the new HUD values
+     */
+    void finishRestore(int score, int lives, GameState gameState, int nextObjectId) {
+        this.score = score;
+        this.lives = lives;
+        this.gameState = gameState;
+        this.nextObjectId = nextObjectId;
+        removedObjects.clear();
+        
+        allObjects.clear();
+        allObjects.add(playerTank);
+        allObjects.addAll(walls);
+        allObjects.addAll(enemyTanks);
+        allObjects.addAll(medPacks);
+        allObjects.addAll(missiles);
+        allObjects.addAll(explosions);
+        
+        // Only live objects are in the grid; insert() just re-buckets the ones already there
+        activeEnemyCount = 0;
+        for (GameObject obj : allObjects) {
+            if (obj instanceof Wall) {
+                continue;
+            }
+            if (obj.isActive()) {
+                spatialGrid.insert(obj);
+            } else {
+                spatialGrid.remove(obj);
+            }
+        }
+        for (Tank enemy : enemyTanks) {
+            if (enemy.isActive()) activeEnemyCount++;
+        }
+        
+        eventManager.publish(GameEvent.SCORE_CHANGED, score);
+        eventManager.publish(GameEvent.LIVES_CHANGED, lives);
+        eventManager.publish(GameEvent.ENEMY_COUNT_CHANGED, activeEnemyCount);
+        eventManager.publish(GameEvent.PLAYER_HEALTH_CHANGED, playerTank.getHealth());
+        eventManager.dispatch();
+    }
+    
     // Getters
     public List<GameObject> getAllObjects() { return allObjects; }
     public Tank getPlayerTank() { return playerTank; }
     public List<Tank> getEnemyTanks() { return enemyTanks; }
+    public List<Wall> getWalls() { return walls; }
     public int getScore() { return score; }
     public int getLives() { return lives; }
+    public int getActiveEnemyCount() { return activeEnemyCount; }
     public GameState getGameState() { return gameState; }
-    public double getMapWidth() { return MAP_WIDTH; }
-    public double getMapHeight() { return MAP_HEIGHT; }
+    public double getMapWidth() { return mapWidth; }
+    public double getMapHeight() { return mapHeight; }
+    public Scenario getScenario() { return scenario; }
+    public long getSeed() { return seed; }
+    public TickProfiler getProfiler() { return profiler; }
+    public FlowField getFlowField() { return flowField; }
+    public AiScheduler getAiScheduler() { return aiScheduler; }
+    public LineOfSight getLineOfSight() { return lineOfSight; }
+    public int getMissileCount() { return missiles.size(); }
+    public int getExplosionCount() { return explosions.size(); }
+    public int getMedPackCount() { return medPacks.size(); }
     public GameEventManager getEventManager() { return eventManager; }
+    public TelemetrySink getTelemetrySink() { return telemetry; }
 }
 
 
@@ -0,0 +1,106 @@
+package com.tankgame.core;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a match as a compact binary replay: a header with everything needed to rebuild the
+ * engine (scenario, seed, step length) followed by the player's command presses and releases
+ * in the order the engine saw them, and one record per simulated tick. The state checksum,
+ * which walks every object, is only taken every few ticks; a divergence then shows up at the
+ * next checksum instead of on the exact tick.
+ * Replaying the same operations into an engine built from the header reproduces the match;
+ * see {@link ReplayFile} for the layout.
+ */
+public class InputRecorder implements Closeable {
+    // About once a second of play, overridable with -Dtankgame.replay.checksumInterval=N
+    private static final int DEFAULT_CHECKSUM_INTERVAL = Integer.getInteger("tankgame.replay.checksumInterval", 60);
+    
+    private final DataOutputStream out;
+    private final int checksumInterval;
+    private long ticks;
+    private boolean failed;
+    
+    public InputRecorder(Path file, GameEngine engine, double stepSeconds) throws IOException {
+        this(file, engine, stepSeconds, DEFAULT_CHECKSUM_INTERVAL);
+    }
+    
+    /**
+     * @param checksumInterval ticks between state checksums, 1 to check every tick
+     */
+    public InputRecorder(Path file, GameEngine engine, double stepSeconds, int checksumInterval) throws IOException {
+        this.checksumInterval = Math.max(1, checksumInterval);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        writeHeader(engine, stepSeconds);
+    }
+    
+    private void writeHeader(GameEngine engine, double stepSeconds) throws IOException {
+        out.writeInt(ReplayFile.MAGIC);
+        out.writeShort(ReplayFile.VERSION);
+        out.writeUTF(engine.getScenario().getName());
+        out.writeLong(engine.getSeed());
+        out.writeDouble(stepSeconds);
+        out.writeBoolean(engine.isAutopilotEnabled());
+    }
+    
+    void recordPress(PlayerCommand command) {
+        write(ReplayFile.OP_PRESS, command.ordinal());
+    }
+    
+    void recordRelease(PlayerCommand command) {
+        write(ReplayFile.OP_RELEASE, command.ordinal());
+    }
+    
+    /**
+     * Record a tick the engine just simulated, with its checksum if one is due
+     */
+    void recordTick(GameEngine engine) {
+        if (failed) {
+            return;
+        }
+        try {
+            // The first tick is always checked, so short recordings still verify something
+            if (ticks % checksumInterval == 0) {
+                out.writeByte(ReplayFile.OP_TICK);
+                out.writeInt(engine.computeChecksum());
+            } else {
+                out.writeByte(ReplayFile.OP_STEP);
+            }
+            ticks++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    private void write(int op, int command) {
+        if (failed) {
+            return;
+        }
+        try {
+            out.writeByte(op);
+            out.writeByte(command);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    private void fail(IOException e) {
+        // A broken recording must not break the game; stop recording instead
+        failed = true;
+        System.err.println("Replay recording stopped: " + e.getMessage());
+    }
+    
+    public long getTickCount() {
+        return ticks;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
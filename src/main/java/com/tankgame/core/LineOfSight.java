@@ -0,0 +1,106 @@
+package com.tankgame.core;
+
+import com.tankgame.model.Direction;
+import com.tankgame.model.Missile;
+import com.tankgame.model.Tank;
+
+/**
+ * Answers whether a tank's shot would reach a target: the target has to be ahead of the tank,
+ * across the lane its missile flies in, with no wall in between. Missiles fly straight along an
+ * axis, so the ray is the rectangle the missile sweeps and the test against the static walls
+ * is exact.
+ *
+ * Most rays are answered from the wall index's raster alone: a ray whose cells are all empty
+ * is clear, one through a cell fully covered by a wall is blocked. Only rays through partly
+ * covered cells get the exact rectangle test. Walls never move during a level; the engine
+ * builds a new instance along with the wall index whenever the walls change.
+ */
+public class LineOfSight {
+    private final StaticGeometryIndex wallIndex;
+    private long rayCount;
+    private long rasterAnswers;
+    private long exactTests;
+    
+    public LineOfSight(StaticGeometryIndex wallIndex) {
+        this.wallIndex = wallIndex;
+    }
+    
+    /**
+     * True when a missile fired now by the shooter, facing as it does, would reach the target
+     * without hitting a wall. Other tanks in the way don't count.
+     */
+    public boolean canHit(Tank shooter, Tank target) {
+        if (!target.isActive()) {
+            return false;
+        }
+        
+        Direction direction = shooter.getDirection();
+        double size = Missile.MISSILE_SIZE;
+        // The missile's lane across the direction of flight, as Tank.fire() places it
+        double laneStart;
+        double targetStart;
+        double targetEnd;
+        if (direction.getDx() != 0) {
+            laneStart = shooter.getCenterY() - size / 2;
+            targetStart = target.getY();
+            targetEnd = target.getY() + target.getHeight();
+        } else {
+            laneStart = shooter.getCenterX() - size / 2;
+            targetStart = target.getX();
+            targetEnd = target.getX() + target.getWidth();
+        }
+        if (targetEnd <= laneStart || targetStart >= laneStart + size) {
+            return false;
+        }
+        
+        // Along the direction of flight: from the shooter's front to the near side of the target
+        double from;
+        double to;
+        switch (direction) {
+            case RIGHT:
+                from = shooter.getX() + shooter.getWidth();
+                to = target.getX();
+                break;
+            case LEFT:
+                from = target.getX() + target.getWidth();
+                to = shooter.getX();
+                break;
+            case DOWN:
+                from = shooter.getY() + shooter.getHeight();
+                to = target.getY();
+                break;
+            default:
+                from = target.getY() + target.getHeight();
+                to = shooter.getY();
+                break;
+        }
+        if (to < from) {
+            // Behind the shooter, unless the two overlap and the missile starts inside the target
+            return to + (direction.getDx() != 0 ? target.getWidth() : target.getHeight()) > from;
+        }
+        
+        if (direction.getDx() != 0) {
+            return isClear(from, laneStart, to - from, size);
+        }
+        return isClear(laneStart, from, size, to - from);
+    }
+    
+    private boolean isClear(double x, double y, double width, double height) {
+        rayCount++;
+        if (width <= 0 || height <= 0) {
+            return true;
+        }
+        
+        int answer = wallIndex.classifyRange(x, y, width, height);
+        if (answer != StaticGeometryIndex.UNKNOWN) {
+            rasterAnswers++;
+            return answer == StaticGeometryIndex.CLEAR;
+        }
+        exactTests++;
+        return !wallIndex.intersects(x, y, width, height);
+    }
+    
+    public long getRayCount() { return rayCount; }
+    public long getRasterAnswers() { return rasterAnswers; }
+    public long getExactTests() { return exactTests; }
+}
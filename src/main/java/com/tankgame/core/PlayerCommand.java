@@ -0,0 +1,14 @@
+package com.tankgame.core;
+
+/**
+ * Engine-level player input, independent of any UI toolkit's key codes
+ */
+public enum PlayerCommand {
+    MOVE_UP,
+    MOVE_DOWN,
+    MOVE_LEFT,
+    MOVE_RIGHT,
+    FIRE,
+    PAUSE,
+    RESTART
+}
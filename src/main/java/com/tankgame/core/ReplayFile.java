@@ -0,0 +1,119 @@
+package com.tankgame.core;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reader for replays written by {@link InputRecorder}.
+ *
+ * Layout, big-endian:
+ *   int magic "TKRP", short version, UTF scenario name, long seed, double step seconds,
+ *   boolean autopilot, then operations until end of file:
+ *   OP_PRESS command-ordinal (2 bytes), OP_RELEASE command-ordinal (2 bytes),
+ *   OP_TICK int checksum (5 bytes) or OP_STEP (1 byte) for each tick the engine simulated,
+ *   depending on whether the recorder took a checksum on that tick.
+ */
+public class ReplayFile implements Closeable {
+    static final int MAGIC = 0x544B5250; // "TKRP"
+    // 2: checksums no longer depend on the order of allObjects
+    // 3: ticks without a checksum (OP_STEP)
+    static final int VERSION = 3;
+    static final int OP_PRESS = 1;
+    static final int OP_RELEASE = 2;
+    static final int OP_TICK = 3;
+    static final int OP_STEP = 4;
+    
+    public enum Operation {
+        PRESS, RELEASE, TICK, END
+    }
+    
+    private static final PlayerCommand[] COMMANDS = PlayerCommand.values();
+    
+    private final DataInputStream in;
+    private final String scenarioName;
+    private final long seed;
+    private final double stepSeconds;
+    private final boolean autopilot;
+    
+    private PlayerCommand command;
+    private int checksum;
+    private boolean hasChecksum;
+    
+    public ReplayFile(Path file) throws IOException {
+        this(Files.newInputStream(file));
+    }
+    
+    public ReplayFile(InputStream stream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        int version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        scenarioName = in.readUTF();
+        seed = in.readLong();
+        stepSeconds = in.readDouble();
+        autopilot = in.readBoolean();
+    }
+    
+    /**
+     * Engine in the state the recording started from
+     */
+    public GameEngine createEngine() {
+        GameEngine engine = new GameEngine(Scenario.byName(scenarioName), seed);
+        if (autopilot) {
+            engine.enableAutopilot();
+        }
+        return engine;
+    }
+    
+    /**
+     * Read the next operation; its command or checksum is available until the next call.
+     * Every simulated tick is a TICK, but only some of them carry a checksum.
+     */
+    public Operation next() throws IOException {
+        int op;
+        try {
+            op = in.readUnsignedByte();
+        } catch (EOFException e) {
+            return Operation.END;
+        }
+        switch (op) {
+            case OP_PRESS:
+                command = COMMANDS[in.readUnsignedByte()];
+                return Operation.PRESS;
+            case OP_RELEASE:
+                command = COMMANDS[in.readUnsignedByte()];
+                return Operation.RELEASE;
+            case OP_TICK:
+                checksum = in.readInt();
+                hasChecksum = true;
+                return Operation.TICK;
+            case OP_STEP:
+                hasChecksum = false;
+                return Operation.TICK;
+            default:
+                throw new IOException("Corrupt replay: unknown operation " + op);
+        }
+    }
+    
+    public PlayerCommand getCommand() { return command; }
+    public int getChecksum() { return checksum; }
+    public boolean hasChecksum() { return hasChecksum; }
+    public String getScenarioName() { return scenarioName; }
+    public long getSeed() { return seed; }
+    public double getStepSeconds() { return stepSeconds; }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,205 @@
+package com.tankgame.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builder Pattern: Immutable description of a match that GameEngine is initialized from.
+ * The classic scenario is the hand-made 1000x800 level; every other scenario gets a
+ * generated layout (random walls, enemies at random free spots) from its seed.
+ */
+public class Scenario {
+    // Map area per tank in the stress presets, roughly one tank per 200x200 block
+    private static final double STRESS_AREA_PER_TANK = 200 * 200;
+    private static final double STRESS_WALL_DENSITY = 0.06;
+    
+    public static final Scenario CLASSIC = builder("classic")
+        .classicLayout(true)
+        .build();
+    
+    public static final Scenario STRESS_10 = stress("stress-10", 10);
+    public static final Scenario STRESS_100 = stress("stress-100", 100);
+    public static final Scenario STRESS_1K = stress("stress-1k", 1_000);
+    public static final Scenario STRESS_10K = stress("stress-10k", 10_000);
+    public static final Scenario STRESS_50K = stress("stress-50k", 50_000);
+    
+    private static final List<Scenario> PRESETS = Collections.unmodifiableList(Arrays.asList(
+        CLASSIC, STRESS_10, STRESS_100, STRESS_1K, STRESS_10K, STRESS_50K));
+    
+    private final String name;
+    private final double mapWidth;
+    private final double mapHeight;
+    private final int enemyCount;
+    private final double aggressiveRatio;
+    private final boolean classicLayout;
+    private final double wallDensity;
+    private final double enemyFireRate;
+    private final int minMedPacks;
+    private final int maxMedPacks;
+    private final long seed;
+    
+    private Scenario(Builder builder) {
+        this.name = builder.name;
+        this.mapWidth = builder.mapWidth;
+        this.mapHeight = builder.mapHeight;
+        this.enemyCount = builder.enemyCount;
+        this.aggressiveRatio = builder.aggressiveRatio;
+        this.classicLayout = builder.classicLayout;
+        this.wallDensity = builder.wallDensity;
+        this.enemyFireRate = builder.enemyFireRate;
+        this.minMedPacks = builder.minMedPacks;
+        this.maxMedPacks = builder.maxMedPacks;
+        this.seed = builder.seed;
+    }
+    
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+    
+    /**
+     * Square map sized for the tank count at stress density; never smaller than the classic map
+     */
+    private static Scenario stress(String name, int enemyCount) {
+        double side = Math.max(1000, Math.ceil(Math.sqrt(enemyCount * STRESS_AREA_PER_TANK)));
+        return builder(name)
+            .mapSize(side, side)
+            .enemyCount(enemyCount)
+            .wallDensity(STRESS_WALL_DENSITY)
+            .medPacks(Math.max(5, enemyCount / 100), Math.max(7, enemyCount / 80))
+            .build();
+    }
+    
+    public static List<Scenario> presets() {
+        return PRESETS;
+    }
+    
+    /**
+     * Look up a preset by name, e.g. "stress-10k"
+     */
+    public static Scenario byName(String name) {
+        for (Scenario scenario : PRESETS) {
+            if (scenario.name.equalsIgnoreCase(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + name);
+    }
+    
+    public String getName() { return name; }
+    public double getMapWidth() { return mapWidth; }
+    public double getMapHeight() { return mapHeight; }
+    public int getEnemyCount() { return enemyCount; }
+    public double getAggressiveRatio() { return aggressiveRatio; }
+    public boolean isClassicLayout() { return classicLayout; }
+    public double getWallDensity() { return wallDensity; }
+    public double getEnemyFireRate() { return enemyFireRate; }
+    public int getMinMedPacks() { return minMedPacks; }
+    public int getMaxMedPacks() { return maxMedPacks; }
+    public long getSeed() { return seed; }
+    
+    @Override
+    public String toString() {
+        return String.format("%s (%.0fx%.0f, %d enemies, %.0f%% aggressive, %s walls, fire rate %.3f, %d-%d med packs)",
+            name, mapWidth, mapHeight, enemyCount, aggressiveRatio * 100,
+            classicLayout ? "classic" : String.format("%.0f%%", wallDensity * 100),
+            enemyFireRate, minMedPacks, maxMedPacks);
+    }
+    
+    /**
+     * Defaults match the classic game; only what differs needs to be set
+     */
+    public static class Builder {
+        private final String name;
+        private double mapWidth = 1000;
+        private double mapHeight = 800;
+        private int enemyCount = 6;
+        private double aggressiveRatio = 0.5;
+        private boolean classicLayout;
+        private double wallDensity = 0.08;
+        private double enemyFireRate = 0.01;
+        private int minMedPacks = 5;
+        private int maxMedPacks = 7;
+        private long seed = 42;
+        
+        private Builder(String name) {
+            this.name = name;
+        }
+        
+        public Builder mapSize(double width, double height) {
+            this.mapWidth = width;
+            this.mapHeight = height;
+            return this;
+        }
+        
+        public Builder enemyCount(int enemyCount) {
+            this.enemyCount = enemyCount;
+            return this;
+        }
+        
+        /**
+         * Fraction of enemies using the aggressive AI; the rest move randomly
+         */
+        public Builder aggressiveRatio(double aggressiveRatio) {
+            this.aggressiveRatio = aggressiveRatio;
+            return this;
+        }
+        
+        /**
+         * Use the hand-made walls and spawn points; only valid on the 1000x800 map
+         */
+        public Builder classicLayout(boolean classicLayout) {
+            this.classicLayout = classicLayout;
+            return this;
+        }
+        
+        /**
+         * Fraction of the map area covered by generated walls
+         */
+        public Builder wallDensity(double wallDensity) {
+            this.wallDensity = wallDensity;
+            return this;
+        }
+        
+        /**
+         * Chance per tick that an enemy tries to fire
+         */
+        public Builder enemyFireRate(double enemyFireRate) {
+            this.enemyFireRate = enemyFireRate;
+            return this;
+        }
+        
+        /**
+         * Number of med packs dropped each time the map runs out, picked in [min, max]
+         */
+        public Builder medPacks(int min, int max) {
+            this.minMedPacks = min;
+            this.maxMedPacks = max;
+            return this;
+        }
+        
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+        
+        public Scenario build() {
+            if (mapWidth < 400 || mapHeight < 400) {
+                throw new IllegalArgumentException("Map must be at least 400x400");
+            }
+            if (enemyCount < 1) {
+                throw new IllegalArgumentException("Need at least one enemy");
+            }
+            if (aggressiveRatio < 0 || aggressiveRatio > 1 || wallDensity < 0 || wallDensity > 0.5) {
+                throw new IllegalArgumentException("Ratios out of range");
+            }
+            if (minMedPacks < 0 || maxMedPacks < minMedPacks) {
+                throw new IllegalArgumentException("Bad med pack range");
+            }
+            if (classicLayout && (mapWidth != 1000 || mapHeight != 800)) {
+                throw new IllegalArgumentException("The classic layout only fits the 1000x800 map");
+            }
+            return new Scenario(this);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.tankgame.core;
+
+import com.tankgame.model.GameObject;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid broad-phase: buckets game objects by the cells their bounds overlap
+ * so collision queries only touch objects in nearby cells.
+ * Objects outside the map are clamped into the border cells.
+ */
+public class SpatialGrid {
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final List<Entry>[] cells;
+    private final Map<GameObject, Entry> entries;
+    
+    /**
+     * Grid bookkeeping for one object: the cell range it is currently bucketed in
+     */
+    private static final class Entry {
+        final GameObject object;
+        int minCol;
+        int minRow;
+        int maxCol;
+        int maxRow;
+        
+        Entry(GameObject object) {
+            this.object = object;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    public SpatialGrid(double width, double height, double cellSize) {
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cells = (List<Entry>[]) new List<?>[columns * rows];
+        this.entries = new IdentityHashMap<>();
+    }
+    
+    public void insert(GameObject obj) {
+        if (entries.containsKey(obj)) {
+            update(obj);
+            return;
+        }
+        
+        Entry entry = new Entry(obj);
+        entry.minCol = column(obj.getX());
+        entry.minRow = row(obj.getY());
+        entry.maxCol = column(obj.getX() + obj.getWidth());
+        entry.maxRow = row(obj.getY() + obj.getHeight());
+        entries.put(obj, entry);
+        addToCells(entry);
+    }
+    
+    public void remove(GameObject obj) {
+        Entry entry = entries.remove(obj);
+        if (entry != null) {
+            removeFromCells(entry);
+        }
+    }
+    
+    /**
+     * Re-bucket an object after it moved. Cheap when it stays within the same cells.
+     */
+    public void update(GameObject obj) {
+        Entry entry = entries.get(obj);
+        if (entry == null) {
+            return;
+        }
+        
+        int minCol = column(obj.getX());
+        int minRow = row(obj.getY());
+        int maxCol = column(obj.getX() + obj.getWidth());
+        int maxRow = row(obj.getY() + obj.getHeight());
+        
+        if (minCol == entry.minCol && minRow == entry.minRow &&
+            maxCol == entry.maxCol && maxRow == entry.maxRow) {
+            return;
+        }
+        
+        removeFromCells(entry);
+        entry.minCol = minCol;
+        entry.minRow = minRow;
+        entry.maxCol = maxCol;
+        entry.maxRow = maxRow;
+        addToCells(entry);
+    }
+    
+    /**
+     * Collect every object bucketed in a cell overlapped by the given rectangle.
+     * Each object is reported once; callers still need an exact intersects() test.
+     */
+    public void query(double x, double y, double width, double height, List<GameObject> result) {
+        result.clear();
+        
+        int minCol = column(x);
+        int minRow = row(y);
+        int maxCol = column(x + width);
+        int maxRow = row(y + height);
+        
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                List<Entry> cell = cells[row * columns + col];
+                if (cell == null) continue;
+                
+                for (int i = 0, n = cell.size(); i < n; i++) {
+                    Entry entry = cell.get(i);
+                    // Objects spanning several cells are only reported from the
+                    // first cell shared by both ranges, so no dedup set is needed
+                    if (col == Math.max(entry.minCol, minCol) && row == Math.max(entry.minRow, minRow)) {
+                        result.add(entry.object);
+                    }
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        entries.clear();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != null) {
+                cells[i].clear();
+            }
+        }
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private void addToCells(Entry entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int col = entry.minCol; col <= entry.maxCol; col++) {
+                int index = row * columns + col;
+                if (cells[index] == null) {
+                    cells[index] = new ArrayList<>(4);
+                }
+                cells[index].add(entry);
+            }
+        }
+    }
+    
+    private void removeFromCells(Entry entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int col = entry.minCol; col <= entry.maxCol; col++) {
+                List<Entry> cell = cells[row * columns + col];
+                int index = cell.indexOf(entry);
+                // Swap with the last element so removal doesn't shift the list
+                int last = cell.size() - 1;
+                cell.set(index, cell.get(last));
+                cell.remove(last);
+            }
+        }
+    }
+    
+    private int column(double x) {
+        int col = (int) Math.floor(x / cellSize);
+        return col < 0 ? 0 : (col >= columns ? columns - 1 : col);
+    }
+    
+    private int row(double y) {
+        int row = (int) Math.floor(y / cellSize);
+        return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+    }
+}
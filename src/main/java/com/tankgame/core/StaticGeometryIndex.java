@@ -0,0 +1,161 @@
+package com.tankgame.core;
+
+import com.tankgame.model.GameObject;
+import com.tankgame.model.Wall;
+import java.util.List;
+
+/**
+ * Rasterized occupancy map of the static walls, built once per level.
+ * Cells fully covered by a wall answer overlap tests directly; cells only
+ * partly covered keep the walls touching them for an exact rectangle test.
+ * Walls are expected to lie inside the map bounds.
+ */
+public class StaticGeometryIndex {
+    private static final byte EMPTY = 0;
+    private static final byte PARTIAL = 1;
+    private static final byte FULL = 2;
+    
+    static final int CLEAR = 0;
+    static final int BLOCKED = 1;
+    static final int UNKNOWN = 2;
+    
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final byte[] occupancy;
+    // Walls of partial cells, packed per cell: cellWalls[cellStart[i] .. cellStart[i + 1])
+    private final int[] cellStart;
+    private final Wall[] cellWalls;
+    private final int wallCount;
+    
+    public StaticGeometryIndex(List<Wall> walls, double width, double height, double cellSize) {
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.occupancy = new byte[columns * rows];
+        this.cellStart = new int[columns * rows + 1];
+        this.wallCount = walls.size();
+        
+        // First pass: rasterize and count the walls each partial cell needs
+        int[] counts = new int[columns * rows];
+        for (Wall wall : walls) {
+            rasterize(wall, counts, null, null);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            cellStart[i + 1] = cellStart[i] + (occupancy[i] == PARTIAL ? counts[i] : 0);
+        }
+        
+        // Second pass: fill the packed wall lists
+        this.cellWalls = new Wall[cellStart[counts.length]];
+        int[] fill = new int[columns * rows];
+        for (Wall wall : walls) {
+            rasterize(wall, null, fill, cellWalls);
+        }
+    }
+    
+    public boolean intersects(GameObject obj) {
+        return intersects(obj.getX(), obj.getY(), obj.getWidth(), obj.getHeight());
+    }
+    
+    /**
+     * True when the rectangle overlaps any wall, using the same strict test as GameObject.intersects
+     */
+    public boolean intersects(double x, double y, double width, double height) {
+        if (wallCount == 0 || x + width <= 0 || y + height <= 0 ||
+            x >= columns * cellSize || y >= rows * cellSize) {
+            return false;
+        }
+        
+        int minCol = clampColumn((int) Math.floor(x / cellSize));
+        int minRow = clampRow((int) Math.floor(y / cellSize));
+        int maxCol = clampColumn((int) Math.ceil((x + width) / cellSize) - 1);
+        int maxRow = clampRow((int) Math.ceil((y + height) / cellSize) - 1);
+        
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int index = row * columns + col;
+                byte state = occupancy[index];
+                if (state == FULL) {
+                    return true;
+                }
+                if (state == PARTIAL) {
+                    for (int i = cellStart[index]; i < cellStart[index + 1]; i++) {
+                        Wall wall = cellWalls[i];
+                        if (x < wall.getX() + wall.getWidth() && x + width > wall.getX() &&
+                            y < wall.getY() + wall.getHeight() && y + height > wall.getY()) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Answer for a rectangle inside the map from the raster alone, over the same cells
+     * intersects() visits: CLEAR when all of them are empty, BLOCKED when one is fully covered
+     * by a wall, otherwise UNKNOWN (partly covered cells, where only the exact test can tell)
+     */
+    int classifyRange(double x, double y, double width, double height) {
+        int minCol = clampColumn((int) Math.floor(x / cellSize));
+        int minRow = clampRow((int) Math.floor(y / cellSize));
+        int maxCol = clampColumn((int) Math.ceil((x + width) / cellSize) - 1);
+        int maxRow = clampRow((int) Math.ceil((y + height) / cellSize) - 1);
+        
+        boolean partial = false;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                byte state = occupancy[row * columns + col];
+                if (state == FULL) {
+                    return BLOCKED;
+                }
+                partial |= state == PARTIAL;
+            }
+        }
+        return partial ? UNKNOWN : CLEAR;
+    }
+    
+    public int getWallCount() {
+        return wallCount;
+    }
+    
+    private void rasterize(Wall wall, int[] counts, int[] fill, Wall[] target) {
+        double left = wall.getX();
+        double top = wall.getY();
+        double right = left + wall.getWidth();
+        double bottom = top + wall.getHeight();
+        
+        int minCol = clampColumn((int) Math.floor(left / cellSize));
+        int minRow = clampRow((int) Math.floor(top / cellSize));
+        int maxCol = clampColumn((int) Math.ceil(right / cellSize) - 1);
+        int maxRow = clampRow((int) Math.ceil(bottom / cellSize) - 1);
+        
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int index = row * columns + col;
+                
+                if (counts != null) {
+                    boolean covers = left <= col * cellSize && right >= (col + 1) * cellSize &&
+                                     top <= row * cellSize && bottom >= (row + 1) * cellSize;
+                    if (covers) {
+                        occupancy[index] = FULL;
+                    } else if (occupancy[index] == EMPTY) {
+                        occupancy[index] = PARTIAL;
+                    }
+                    counts[index]++;
+                } else if (occupancy[index] == PARTIAL) {
+                    target[cellStart[index] + fill[index]++] = wall;
+                }
+            }
+        }
+    }
+    
+    private int clampColumn(int col) {
+        return col < 0 ? 0 : (col >= columns ? columns - 1 : col);
+    }
+    
+    private int clampRow(int row) {
+        return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+    }
+}
@@ -0,0 +1,160 @@
+package com.tankgame.core;
+
+import com.tankgame.util.LatencyHistogram;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-phase timing of the simulation tick (and the frame render) into fixed-size histograms.
+ * Disabled by default; while disabled every call returns immediately without reading the clock.
+ * Not thread-safe: each engine owns one profiler and records from its own thread.
+ */
+public class TickProfiler {
+    public enum Phase {
+        PREPARE, INPUT, ENEMY_AI, MISSILES, EXPLOSIONS, MEDPACKS, COLLISIONS, GAME_CONDITIONS, CLEANUP, EVENTS, TICK, RENDER
+    }
+    
+    private static final double[] REPORT_PERCENTILES = {50, 90, 99, 99.9};
+    
+    private final Map<Phase, LatencyHistogram> phaseTimes = new EnumMap<>(Phase.class);
+    private final LatencyHistogram allocatedBytes = new LatencyHistogram();
+    // HotSpot's extension reports per-thread allocation; other JVMs just get no allocation figures
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private boolean enabled;
+    private long tickStartBytes;
+    
+    public TickProfiler() {
+        for (Phase phase : Phase.values()) {
+            phaseTimes.put(phase, new LatencyHistogram());
+        }
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean &&
+            ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            allocationBean = (com.sun.management.ThreadMXBean) bean;
+        } else {
+            allocationBean = null;
+        }
+    }
+    
+    /**
+     * Start timing a tick; returns the start timestamp to pass to lap()
+     */
+    public long beginTick() {
+        if (!enabled) {
+            return 0;
+        }
+        if (allocationBean != null) {
+            tickStartBytes = allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return System.nanoTime();
+    }
+    
+    /**
+     * Start timing a phase outside the tick, such as RENDER
+     */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0;
+    }
+    
+    /**
+     * Record the time since start under the phase and return the new timestamp,
+     * so consecutive phases can be chained without extra clock reads
+     */
+    public long lap(Phase phase, long start) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        phaseTimes.get(phase).record(now - start);
+        return now;
+    }
+    
+    public void endTick(long tickStart) {
+        if (!enabled) {
+            return;
+        }
+        lap(Phase.TICK, tickStart);
+        if (allocationBean != null) {
+            allocatedBytes.record(allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - tickStartBytes);
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Switching on starts a fresh recording
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            reset();
+        }
+        this.enabled = enabled;
+    }
+    
+    public void reset() {
+        for (LatencyHistogram histogram : phaseTimes.values()) {
+            histogram.reset();
+        }
+        allocatedBytes.reset();
+    }
+    
+    public LatencyHistogram getHistogram(Phase phase) {
+        return phaseTimes.get(phase);
+    }
+    
+    /**
+     * Bytes allocated on the engine thread per tick; empty when the JVM can't report it
+     */
+    public LatencyHistogram getAllocatedBytes() {
+        return allocatedBytes;
+    }
+    
+    public boolean isAllocationTrackingSupported() {
+        return allocationBean != null;
+    }
+    
+    /**
+     * Plain-text report of every phase, in microseconds
+     */
+    public void writeReport(PrintWriter out) {
+        out.printf("%-16s %9s %10s", "phase", "samples", "mean us");
+        for (double percentile : REPORT_PERCENTILES) {
+            out.printf(" %9s", "p" + formatPercentile(percentile) + " us");
+        }
+        out.printf(" %10s%n", "max us");
+        
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = phaseTimes.get(phase);
+            out.printf("%-16s %9d %10.1f", phase, histogram.getCount(), histogram.getMean() / 1000);
+            for (double percentile : REPORT_PERCENTILES) {
+                out.printf(" %9.1f", histogram.getPercentile(percentile) / 1000.0);
+            }
+            out.printf(" %10.1f%n", histogram.getMax() / 1000.0);
+        }
+        
+        if (allocationBean != null) {
+            out.printf("allocated bytes/tick: mean %.0f, p50 %d, p99 %d, max %d%n",
+                allocatedBytes.getMean(), allocatedBytes.getPercentile(50),
+                allocatedBytes.getPercentile(99), allocatedBytes.getMax());
+        }
+        out.flush();
+    }
+    
+    public void dump(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            writeReport(out);
+        }
+    }
+    
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,410 @@
+package com.tankgame.core;
+
+import com.tankgame.factory.GameObjectFactory;
+import com.tankgame.model.*;
+import com.tankgame.strategy.AggressiveMovementStrategy;
+import com.tankgame.strategy.MovementStrategy;
+import com.tankgame.strategy.RandomMovementStrategy;
+import com.tankgame.util.SeededRandom;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Versioned binary snapshot of a running match, written and read through a memory-mapped file.
+ * Every record has a fixed size, so the file size is known up front and save and load are one
+ * linear pass each. Loading writes straight into the engine's existing objects; extra missiles
+ * and explosions come from the pools, and tanks or med packs are only created when the snapshot
+ * has more than the engine. Snapshots are taken and loaded between ticks, into an engine running
+ * the same scenario.
+ *
+ * Layout, big-endian:
+ *   header: int magic "TKSN", short version, int scenario name hash, double map width and height,
+ *           long seed, long random state, long AI schedule tick, int next object id, int score,
+ *           int lives, byte game state, five int counts (walls, enemies, med packs, missiles, explosions),
+ *           byte autopilot present + strategy block
+ *   player tank, then the walls, enemy tanks, med packs, missiles and explosions.
+ * A strategy block is MovementStrategy.SNAPSHOT_STATE_BYTES bytes whatever the strategy writes.
+ */
+public final class WorldSnapshot {
+    private static final int MAGIC = 0x544B534E; // "TKSN"
+    // 2: AI schedule tick in the header
+    private static final int VERSION = 2;
+    
+    private static final int STRATEGY_NONE = 0;
+    private static final int STRATEGY_AGGRESSIVE = 1;
+    private static final int STRATEGY_RANDOM = 2;
+    
+    private static final int HEADER_BYTES = 4 + 2 + 4 + 8 + 8 + 8 + 8 + 8 + 4 + 4 + 4 + 1 + 5 * 4
+        + 1 + MovementStrategy.SNAPSHOT_STATE_BYTES;
+    // id, x, y, active, direction, health, fire cooldown, strategy type + block
+    private static final int TANK_BYTES = 4 + 8 + 8 + 1 + 1 + 4 + 8 + 1 + MovementStrategy.SNAPSHOT_STATE_BYTES;
+    // id, x, y, width, height
+    private static final int WALL_BYTES = 4 + 8 * 4;
+    // id, x, y, active, pulse timer
+    private static final int MEDPACK_BYTES = 4 + 8 + 8 + 1 + 8;
+    // id, x, y, active, direction, owner is player, owner id
+    private static final int MISSILE_BYTES = 4 + 8 + 8 + 1 + 1 + 1 + 4;
+    // id, x, y, active, frame, frame timer
+    private static final int EXPLOSION_BYTES = 4 + 8 + 8 + 1 + 4 + 8;
+    
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final GameEngine.GameState[] STATES = GameEngine.GameState.values();
+    
+    private WorldSnapshot() {
+    }
+    
+    /**
+     * Write the engine's state to the file, replacing it; returns the snapshot size in bytes
+     */
+    public static long save(GameEngine engine, Path file) throws IOException {
+        List<Wall> walls = engine.getWalls();
+        List<Tank> enemies = engine.getEnemyTanks();
+        List<MedPack> medPacks = engine.getMedPacks();
+        List<Missile> missiles = engine.getMissiles();
+        List<Explosion> explosions = engine.getExplosions();
+        long size = HEADER_BYTES + TANK_BYTES + (long) walls.size() * WALL_BYTES
+            + (long) enemies.size() * TANK_BYTES + (long) medPacks.size() * MEDPACK_BYTES
+            + (long) missiles.size() * MISSILE_BYTES + (long) explosions.size() * EXPLOSION_BYTES;
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // Overwriting in place is much cheaper than truncating first; mapping grows the file if needed
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            
+            buffer.putInt(MAGIC);
+            buffer.putShort((short) VERSION);
+            buffer.putInt(engine.getScenario().getName().hashCode());
+            buffer.putDouble(engine.getMapWidth());
+            buffer.putDouble(engine.getMapHeight());
+            buffer.putLong(engine.getSeed());
+            buffer.putLong(engine.getRandom().getState());
+            buffer.putLong(engine.getAiScheduler().getTick());
+            buffer.putInt(engine.getNextObjectId());
+            buffer.putInt(engine.getScore());
+            buffer.putInt(engine.getLives());
+            buffer.put((byte) engine.getGameState().ordinal());
+            buffer.putInt(walls.size());
+            buffer.putInt(enemies.size());
+            buffer.putInt(medPacks.size());
+            buffer.putInt(missiles.size());
+            buffer.putInt(explosions.size());
+            MovementStrategy autopilot = engine.getAutopilot();
+            buffer.put((byte) (autopilot != null ? 1 : 0));
+            writeStrategyBlock(buffer, autopilot);
+            
+            writeTank(buffer, engine.getPlayerTank());
+            for (Wall wall : walls) {
+                buffer.putInt(wall.getId());
+                buffer.putDouble(wall.getX());
+                buffer.putDouble(wall.getY());
+                buffer.putDouble(wall.getWidth());
+                buffer.putDouble(wall.getHeight());
+            }
+            for (Tank enemy : enemies) {
+                writeTank(buffer, enemy);
+            }
+            for (MedPack medPack : medPacks) {
+                buffer.putInt(medPack.getId());
+                buffer.putDouble(medPack.getX());
+                buffer.putDouble(medPack.getY());
+                buffer.put((byte) (medPack.isActive() ? 1 : 0));
+                buffer.putDouble(medPack.getPulseTimer());
+            }
+            for (Missile missile : missiles) {
+                buffer.putInt(missile.getId());
+                buffer.putDouble(missile.getX());
+                buffer.putDouble(missile.getY());
+                buffer.put((byte) (missile.isActive() ? 1 : 0));
+                buffer.put((byte) missile.getDirection().ordinal());
+                buffer.put((byte) (missile.getOwner().isPlayer() ? 1 : 0));
+                buffer.putInt(missile.getOwner().getId());
+            }
+            for (Explosion explosion : explosions) {
+                buffer.putInt(explosion.getId());
+                buffer.putDouble(explosion.getX());
+                buffer.putDouble(explosion.getY());
+                buffer.put((byte) (explosion.isActive() ? 1 : 0));
+                buffer.putInt(explosion.getCurrentFrame());
+                buffer.putDouble(explosion.getFrameTimer());
+            }
+        }
+        return size;
+    }
+    
+    /**
+     * Replace the engine's match state with the one in the file. The engine must run the
+     * scenario the snapshot was taken from; walls are checked, not replaced.
+     */
+    public static void load(GameEngine engine, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            read(engine, buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated snapshot: " + file, e);
+        }
+    }
+    
+    private static void read(GameEngine engine, ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a world snapshot");
+        }
+        int version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        if (buffer.getInt() != engine.getScenario().getName().hashCode()
+                || buffer.getDouble() != engine.getMapWidth() || buffer.getDouble() != engine.getMapHeight()) {
+            throw new IOException("Snapshot belongs to a different scenario");
+        }
+        buffer.getLong(); // seed the match started from; informational
+        long randomState = buffer.getLong();
+        long aiTick = buffer.getLong();
+        int nextObjectId = buffer.getInt();
+        int score = buffer.getInt();
+        int lives = buffer.getInt();
+        GameEngine.GameState gameState = STATES[buffer.get()];
+        int wallCount = buffer.getInt();
+        int enemyCount = buffer.getInt();
+        int medPackCount = buffer.getInt();
+        int missileCount = buffer.getInt();
+        int explosionCount = buffer.getInt();
+        
+        // Everything is validated before the engine is touched
+        int wallsStart = buffer.position() + 1 + MovementStrategy.SNAPSHOT_STATE_BYTES + TANK_BYTES;
+        checkWalls(engine.getWalls(), buffer, wallsStart, wallCount);
+        
+        engine.getRandom().setState(randomState);
+        engine.getAiScheduler().restoreTick(aiTick);
+        boolean autopilot = buffer.get() != 0;
+        if (autopilot) {
+            if (engine.getAutopilot() == null) {
+                engine.restoreAutopilot(new SeededRandom(0));
+            }
+            readStrategyBlock(buffer, engine.getAutopilot());
+        } else {
+            skipStrategyBlock(buffer);
+        }
+        
+        readTank(buffer, engine.getPlayerTank());
+        buffer.position(wallsStart + wallCount * WALL_BYTES);
+        
+        readEnemies(engine, buffer, enemyCount);
+        readMedPacks(engine, buffer, medPackCount);
+        readMissiles(engine, buffer, missileCount);
+        readExplosions(engine, buffer, explosionCount);
+        
+        engine.finishRestore(score, lives, gameState, nextObjectId);
+    }
+    
+    private static void checkWalls(List<Wall> walls, ByteBuffer buffer, int start, int count) throws IOException {
+        if (count != walls.size()) {
+            throw new IOException("Snapshot has " + count + " walls, the map has " + walls.size());
+        }
+        for (int i = 0; i < count; i++) {
+            Wall wall = walls.get(i);
+            int record = start + i * WALL_BYTES;
+            if (buffer.getDouble(record + 4) != wall.getX() || buffer.getDouble(record + 12) != wall.getY()
+                    || buffer.getDouble(record + 20) != wall.getWidth() || buffer.getDouble(record + 28) != wall.getHeight()) {
+                throw new IOException("Snapshot walls don't match the map");
+            }
+        }
+    }
+    
+    private static void writeTank(ByteBuffer buffer, Tank tank) {
+        buffer.putInt(tank.getId());
+        buffer.putDouble(tank.getX());
+        buffer.putDouble(tank.getY());
+        buffer.put((byte) (tank.isActive() ? 1 : 0));
+        buffer.put((byte) tank.getDirection().ordinal());
+        buffer.putInt(tank.getHealth());
+        buffer.putDouble(tank.getFireCooldown());
+        buffer.put((byte) strategyType(tank.getMovementStrategy()));
+        writeStrategyBlock(buffer, tank.getMovementStrategy());
+    }
+    
+    /**
+     * Read a tank record into an existing tank, whose strategy must be of the recorded type
+     */
+    private static void readTank(ByteBuffer buffer, Tank tank) {
+        tank.setId(buffer.getInt());
+        double x = buffer.getDouble();
+        double y = buffer.getDouble();
+        tank.restore(x, y, buffer.get() != 0);
+        Direction direction = DIRECTIONS[buffer.get()];
+        int health = buffer.getInt();
+        tank.restoreState(direction, health, buffer.getDouble());
+        buffer.get(); // strategy type, checked by the caller
+        readStrategyBlock(buffer, tank.getMovementStrategy());
+    }
+    
+    private static void readEnemies(GameEngine engine, ByteBuffer buffer, int count) {
+        List<Tank> enemies = engine.getEnemyTanks();
+        SpatialGrid grid = engine.getSpatialGrid();
+        GameObjectFactory factory = GameObjectFactory.getInstance();
+        
+        for (int i = 0; i < count; i++) {
+            int type = buffer.get(buffer.position() + TANK_BYTES - 1 - MovementStrategy.SNAPSHOT_STATE_BYTES);
+            Tank tank = i < enemies.size() ? enemies.get(i) : null;
+            if (tank == null || strategyType(tank.getMovementStrategy()) != type) {
+                // Only when the snapshot's tanks don't line up with the engine's
+                Tank created = factory.createEnemyTank(0, 0, type == STRATEGY_AGGRESSIVE, new SeededRandom(0));
+                if (tank == null) {
+                    enemies.add(created);
+                } else {
+                    grid.remove(tank);
+                    enemies.set(i, created);
+                }
+                tank = created;
+            }
+            readTank(buffer, tank);
+        }
+        truncate(enemies, count, grid);
+    }
+    
+    private static void readMedPacks(GameEngine engine, ByteBuffer buffer, int count) {
+        List<MedPack> medPacks = engine.getMedPacks();
+        for (int i = 0; i < count; i++) {
+            MedPack medPack;
+            if (i < medPacks.size()) {
+                medPack = medPacks.get(i);
+            } else {
+                medPack = GameObjectFactory.getInstance().createMedPack(0, 0);
+                medPacks.add(medPack);
+            }
+            medPack.setId(buffer.getInt());
+            double x = buffer.getDouble();
+            double y = buffer.getDouble();
+            medPack.restore(x, y, buffer.get() != 0);
+            medPack.setPulseTimer(buffer.getDouble());
+        }
+        truncate(medPacks, count, engine.getSpatialGrid());
+    }
+    
+    private static void readMissiles(GameEngine engine, ByteBuffer buffer, int count) throws IOException {
+        List<Missile> missiles = engine.getMissiles();
+        GameObjectFactory factory = GameObjectFactory.getInstance();
+        releaseSurplus(missiles, count, engine.getSpatialGrid(), factory::releaseMissile);
+        
+        for (int i = 0; i < count; i++) {
+            int id = buffer.getInt();
+            double x = buffer.getDouble();
+            double y = buffer.getDouble();
+            boolean active = buffer.get() != 0;
+            Direction direction = DIRECTIONS[buffer.get()];
+            boolean playerOwned = buffer.get() != 0;
+            int ownerId = buffer.getInt();
+            
+            // Shots of an earlier player tank only need to count as the player's
+            Tank owner = playerOwned ? engine.getPlayerTank() : findEnemy(engine.getEnemyTanks(), ownerId);
+            if (owner == null) {
+                throw new IOException("Snapshot missile refers to unknown tank " + ownerId);
+            }
+            Missile missile;
+            if (i < missiles.size()) {
+                missile = missiles.get(i);
+                missile.reset(x, y, direction, owner);
+            } else {
+                missile = factory.createMissile(x, y, direction, owner);
+                missiles.add(missile);
+            }
+            missile.setId(id);
+            missile.restore(x, y, active);
+        }
+    }
+    
+    private static void readExplosions(GameEngine engine, ByteBuffer buffer, int count) {
+        List<Explosion> explosions = engine.getExplosions();
+        GameObjectFactory factory = GameObjectFactory.getInstance();
+        releaseSurplus(explosions, count, engine.getSpatialGrid(), factory::releaseExplosion);
+        
+        for (int i = 0; i < count; i++) {
+            int id = buffer.getInt();
+            double x = buffer.getDouble();
+            double y = buffer.getDouble();
+            Explosion explosion;
+            if (i < explosions.size()) {
+                explosion = explosions.get(i);
+                explosion.reset(x, y);
+            } else {
+                explosion = factory.createExplosion(x, y);
+                explosions.add(explosion);
+            }
+            explosion.setId(id);
+            explosion.restore(x, y, buffer.get() != 0);
+            int frame = buffer.getInt();
+            explosion.restoreFrame(frame, buffer.getDouble());
+        }
+    }
+    
+    /**
+     * Enemy ids increase along enemyTanks, so a binary search finds the owner without a lookup table
+     */
+    private static Tank findEnemy(List<Tank> enemies, int id) {
+        int low = 0;
+        int high = enemies.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = enemies.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return enemies.get(mid);
+            }
+        }
+        return null;
+    }
+    
+    private static <T extends GameObject> void truncate(List<T> list, int size, SpatialGrid grid) {
+        for (int i = list.size() - 1; i >= size; i--) {
+            grid.remove(list.remove(i));
+        }
+    }
+    
+    /**
+     * Hand objects beyond the snapshot's count back to their pool
+     */
+    private static <T extends GameObject> void releaseSurplus(List<T> list, int size, SpatialGrid grid,
+                                                              Consumer<T> release) {
+        for (int i = list.size() - 1; i >= size; i--) {
+            T obj = list.remove(i);
+            grid.remove(obj);
+            release.accept(obj);
+        }
+    }
+    
+    private static int strategyType(MovementStrategy strategy) {
+        if (strategy instanceof AggressiveMovementStrategy) return STRATEGY_AGGRESSIVE;
+        if (strategy instanceof RandomMovementStrategy) return STRATEGY_RANDOM;
+        return STRATEGY_NONE;
+    }
+    
+    private static void writeStrategyBlock(ByteBuffer buffer, MovementStrategy strategy) {
+        int end = buffer.position() + MovementStrategy.SNAPSHOT_STATE_BYTES;
+        if (strategy != null) {
+            strategy.saveState(buffer);
+        }
+        buffer.position(end);
+    }
+    
+    private static void readStrategyBlock(ByteBuffer buffer, MovementStrategy strategy) {
+        int end = buffer.position() + MovementStrategy.SNAPSHOT_STATE_BYTES;
+        strategy.loadState(buffer);
+        buffer.position(end);
+    }
+    
+    private static void skipStrategyBlock(ByteBuffer buffer) {
+        buffer.position(buffer.position() + MovementStrategy.SNAPSHOT_STATE_BYTES);
+    }
+}
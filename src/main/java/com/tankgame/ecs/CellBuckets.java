@@ -0,0 +1,65 @@
+package com.tankgame.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid rebuilt from scratch with a counting sort: after build(), the slots whose
+ * center falls in cell c are items[cellStart[c] .. cellStart[c + 1]).
+ * Entities are bucketed by center, so queries widen their range by the entity extent.
+ */
+class CellBuckets {
+    final double cellSize;
+    private final double inverseCellSize;
+    final int columns;
+    final int rows;
+    final int[] cellStart;
+    int[] items = new int[0];
+    private int[] cellOf = new int[0];
+    private final int[] cursor;
+    
+    CellBuckets(double width, double height, double cellSize) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0 / cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellStart = new int[columns * rows + 1];
+        this.cursor = new int[columns * rows];
+    }
+    
+    void build(double[] x, double[] y, double size, int count) {
+        if (items.length < count) {
+            items = new int[count * 2];
+            cellOf = new int[count * 2];
+        }
+        Arrays.fill(cellStart, 0);
+        
+        double half = size / 2;
+        for (int i = 0; i < count; i++) {
+            int cell = cellIndex(x[i] + half, y[i] + half);
+            cellOf[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        
+        System.arraycopy(cellStart, 0, cursor, 0, cursor.length);
+        for (int i = 0; i < count; i++) {
+            items[cursor[cellOf[i]]++] = i;
+        }
+    }
+    
+    int column(double x) {
+        int col = (int) (x * inverseCellSize);
+        return col < 0 ? 0 : (col >= columns ? columns - 1 : col);
+    }
+    
+    int row(double y) {
+        int row = (int) (y * inverseCellSize);
+        return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+    }
+    
+    private int cellIndex(double x, double y) {
+        return row(y) * columns + column(x);
+    }
+}
@@ -0,0 +1,69 @@
+package com.tankgame.ecs;
+
+/**
+ * Missile-vs-tank hits: player missiles damage enemies, enemy missiles damage the player.
+ * Destroyed tanks are compacted out of the tank arrays at the end of the pass.
+ */
+public class CollisionSystem implements EcsSystem {
+    @Override
+    public void run(EcsWorld world, double dt) {
+        TankArchetype tanks = world.getStore().getTanks();
+        MissileArchetype missiles = world.getStore().getMissiles();
+        CellBuckets buckets = world.getTankBuckets();
+        double tankSize = TankArchetype.SIZE;
+        double missileSize = MissileArchetype.SIZE;
+        
+        // Tanks moved since MovementSystem bucketed them
+        buckets.build(tanks.x, tanks.y, tankSize, tanks.size);
+        boolean anyDestroyed = false;
+        
+        for (int i = missiles.size - 1; i >= 0; i--) {
+            double mx = missiles.x[i];
+            double my = missiles.y[i];
+            boolean fromPlayer = missiles.fromPlayer[i];
+            // Only buckets holding tank centers within reach of the missile can contain a hit
+            double reach = (tankSize + missileSize) / 2;
+            double centerX = mx + missileSize / 2;
+            double centerY = my + missileSize / 2;
+            int minCol = buckets.column(centerX - reach);
+            int maxCol = buckets.column(centerX + reach);
+            int minRow = buckets.row(centerY - reach);
+            int maxRow = buckets.row(centerY + reach);
+            int target = -1;
+            
+            search:
+            for (int r = minRow; r <= maxRow; r++) {
+                for (int c = minCol; c <= maxCol; c++) {
+                    int cell = r * buckets.columns + c;
+                    for (int k = buckets.cellStart[cell], end = buckets.cellStart[cell + 1]; k < end; k++) {
+                        int tank = buckets.items[k];
+                        if (tanks.player[tank] != fromPlayer && tanks.health[tank] > 0 &&
+                            mx < tanks.x[tank] + tankSize && mx + missileSize > tanks.x[tank] &&
+                            my < tanks.y[tank] + tankSize && my + missileSize > tanks.y[tank]) {
+                            target = tank;
+                            break search;
+                        }
+                    }
+                }
+            }
+            
+            if (target >= 0) {
+                tanks.health[target] -= MissileArchetype.DAMAGE;
+                if (tanks.health[target] <= 0) {
+                    tanks.health[target] = 0;
+                    anyDestroyed = true;
+                    world.onTankDestroyed(tanks.player[target]);
+                }
+                missiles.removeAt(i);
+            }
+        }
+        
+        if (anyDestroyed) {
+            for (int i = tanks.size - 1; i >= 0; i--) {
+                if (tanks.health[i] == 0) {
+                    tanks.removeAt(i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.tankgame.ecs;
+
+/**
+ * Counts down every tank's fire cooldown
+ */
+public class CooldownSystem implements EcsSystem {
+    @Override
+    public void run(EcsWorld world, double dt) {
+        TankArchetype tanks = world.getStore().getTanks();
+        double[] cooldown = tanks.cooldown;
+        
+        for (int i = 0, n = tanks.size; i < n; i++) {
+            if (cooldown[i] > 0) {
+                cooldown[i] -= dt;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.tankgame.ecs;
+
+import com.tankgame.model.Direction;
+import com.tankgame.model.GameObject;
+import com.tankgame.model.Missile;
+import com.tankgame.model.Tank;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter Pattern: Presents an EcsWorld through the same getters GameEngine offers, so
+ * GameRenderer, HUD code and tools written against GameObjects can inspect it.
+ * The views are refreshed on demand once per world tick and reused from tick to tick, so the
+ * same Tank may stand for a different entity after the world ticks again; they are
+ * read-only, and changing them has no effect on the world.
+ */
+public class EcsEngineAdapter {
+    private final EcsWorld world;
+    private long cachedTick = -1;
+    private Tank playerTank;
+    private final Tank playerView;
+    // Grown as the population does and never shrunk
+    private final List<Tank> enemyViews = new ArrayList<>();
+    private final List<Missile> missileViews = new ArrayList<>();
+    private final List<Tank> enemyTanks = new ArrayList<>();
+    // The walls never change, so they stay at the front and only the rest is refilled
+    private final List<GameObject> allObjects = new ArrayList<>();
+    
+    public EcsEngineAdapter(EcsWorld world) {
+        this.world = world;
+        this.playerView = new Tank(0, 0, Direction.UP, null, 0, true);
+        allObjects.addAll(world.getWalls());
+    }
+    
+    private void refresh() {
+        if (cachedTick == world.getTick()) {
+            return;
+        }
+        cachedTick = world.getTick();
+        
+        TankArchetype tanks = world.getStore().getTanks();
+        MissileArchetype missiles = world.getStore().getMissiles();
+        playerTank = null;
+        enemyTanks.clear();
+        int wallCount = world.getWalls().size();
+        allObjects.subList(wallCount, allObjects.size()).clear();
+        
+        for (int i = 0; i < tanks.size(); i++) {
+            Tank tank;
+            if (tanks.isPlayer(i)) {
+                tank = playerView;
+                playerTank = tank;
+            } else {
+                if (enemyTanks.size() == enemyViews.size()) {
+                    enemyViews.add(new Tank(0, 0, Direction.DOWN, null, 0, false));
+                }
+                tank = enemyViews.get(enemyTanks.size());
+                enemyTanks.add(tank);
+            }
+            tank.restore(tanks.getX(i), tanks.getY(i), true);
+            tank.restoreState(tanks.getDirection(i), tanks.getHealth(i), tanks.cooldown[i]);
+            tank.setSpeed(tanks.speed[i]);
+            allObjects.add(tank);
+        }
+        
+        for (int i = 0; i < missiles.size(); i++) {
+            if (i == missileViews.size()) {
+                missileViews.add(new Missile(0, 0, Direction.UP, null));
+            }
+            Missile missile = missileViews.get(i);
+            Tank owner = missiles.isFromPlayer(i) ? playerTank : null;
+            missile.reset(missiles.getX(i), missiles.getY(i), missiles.getDirection(i), owner);
+            allObjects.add(missile);
+        }
+    }
+    
+    public List<GameObject> getAllObjects() { refresh(); return allObjects; }
+    public Tank getPlayerTank() { refresh(); return playerTank; }
+    public List<Tank> getEnemyTanks() { refresh(); return enemyTanks; }
+    public int getScore() { return world.getScore(); }
+    public double getMapWidth() { return world.getWidth(); }
+    public double getMapHeight() { return world.getHeight(); }
+}
@@ -0,0 +1,8 @@
+package com.tankgame.ecs;
+
+/**
+ * A system runs one simulation pass over the component arrays of an EcsWorld
+ */
+public interface EcsSystem {
+    void run(EcsWorld world, double dt);
+}
@@ -0,0 +1,36 @@
+package com.tankgame.ecs;
+
+import com.tankgame.model.Direction;
+
+/**
+ * Entity-component store: entities grouped by archetype, each archetype a set of
+ * parallel primitive arrays, so systems iterate memory linearly instead of chasing
+ * GameObject references.
+ */
+public class EntityStore {
+    static final Direction[] DIRECTIONS = Direction.values();
+    static final int[] DX = new int[DIRECTIONS.length];
+    static final int[] DY = new int[DIRECTIONS.length];
+    
+    static {
+        for (Direction direction : DIRECTIONS) {
+            DX[direction.ordinal()] = direction.getDx();
+            DY[direction.ordinal()] = direction.getDy();
+        }
+    }
+    
+    private final TankArchetype tanks;
+    private final MissileArchetype missiles;
+    
+    public EntityStore(int tankCapacity, int missileCapacity) {
+        this.tanks = new TankArchetype(tankCapacity);
+        this.missiles = new MissileArchetype(missileCapacity);
+    }
+    
+    public TankArchetype getTanks() { return tanks; }
+    public MissileArchetype getMissiles() { return missiles; }
+    
+    public int getEntityCount() {
+        return tanks.size + missiles.size;
+    }
+}
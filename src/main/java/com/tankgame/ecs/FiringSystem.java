@@ -0,0 +1,48 @@
+package com.tankgame.ecs;
+
+/**
+ * Spawns missiles at the muzzle of tanks that are ready to fire
+ */
+public class FiringSystem implements EcsSystem {
+    private static final double FIRE_COOLDOWN = 0.5; // seconds
+    
+    @Override
+    public void run(EcsWorld world, double dt) {
+        TankArchetype tanks = world.getStore().getTanks();
+        MissileArchetype missiles = world.getStore().getMissiles();
+        double fireRate = world.getEnemyFireRate();
+        
+        for (int i = 0, n = tanks.size; i < n; i++) {
+            if (tanks.cooldown[i] > 0) {
+                continue;
+            }
+            boolean wantsToFire = tanks.player[i] ? world.isPlayerFiring() : world.nextDouble() < fireRate;
+            if (!wantsToFire) {
+                continue;
+            }
+            
+            tanks.cooldown[i] = FIRE_COOLDOWN;
+            int dir = tanks.direction[i];
+            double size = TankArchetype.SIZE;
+            double missileSize = MissileArchetype.SIZE;
+            double missileX;
+            double missileY;
+            
+            // Position missile at tank's front, as Tank.fire does
+            if (dir == EcsWorld.UP) {
+                missileX = tanks.x[i] + size / 2 - missileSize / 2;
+                missileY = tanks.y[i] - missileSize;
+            } else if (dir == EcsWorld.DOWN) {
+                missileX = tanks.x[i] + size / 2 - missileSize / 2;
+                missileY = tanks.y[i] + size;
+            } else if (dir == EcsWorld.LEFT) {
+                missileX = tanks.x[i] - missileSize;
+                missileY = tanks.y[i] + size / 2 - missileSize / 2;
+            } else {
+                missileX = tanks.x[i] + size;
+                missileY = tanks.y[i] + size / 2 - missileSize / 2;
+            }
+            missiles.add(missileX, missileY, dir, tanks.player[i]);
+        }
+    }
+}
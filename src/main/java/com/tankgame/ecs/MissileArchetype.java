@@ -0,0 +1,75 @@
+package com.tankgame.ecs;
+
+import com.tankgame.model.Direction;
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays storage for missiles, compacted by swap-remove like TankArchetype
+ */
+public class MissileArchetype {
+    public static final double SIZE = 10;
+    public static final double SPEED = 300; // pixels per second
+    public static final int DAMAGE = 25;
+    
+    int size;
+    double[] x;
+    double[] y;
+    double[] prevX;
+    double[] prevY;
+    byte[] direction;
+    boolean[] fromPlayer;
+    
+    MissileArchetype(int capacity) {
+        capacity = Math.max(capacity, 16);
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        direction = new byte[capacity];
+        fromPlayer = new boolean[capacity];
+    }
+    
+    int add(double missileX, double missileY, int dir, boolean isFromPlayer) {
+        if (size == x.length) {
+            grow();
+        }
+        
+        int slot = size++;
+        x[slot] = missileX;
+        y[slot] = missileY;
+        prevX[slot] = missileX;
+        prevY[slot] = missileY;
+        direction[slot] = (byte) dir;
+        fromPlayer[slot] = isFromPlayer;
+        return slot;
+    }
+    
+    void removeAt(int slot) {
+        int last = --size;
+        if (slot != last) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+            prevX[slot] = prevX[last];
+            prevY[slot] = prevY[last];
+            direction[slot] = direction[last];
+            fromPlayer[slot] = fromPlayer[last];
+        }
+    }
+    
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        fromPlayer = Arrays.copyOf(fromPlayer, capacity);
+    }
+    
+    // Read-only accessors for code outside the systems
+    public int size() { return size; }
+    public double getX(int slot) { return x[slot]; }
+    public double getY(int slot) { return y[slot]; }
+    public Direction getDirection(int slot) { return EntityStore.DIRECTIONS[direction[slot]]; }
+    public boolean isFromPlayer(int slot) { return fromPlayer[slot]; }
+}
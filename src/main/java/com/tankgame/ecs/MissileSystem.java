@@ -0,0 +1,33 @@
+package com.tankgame.ecs;
+
+/**
+ * Flies missiles forward and removes the ones that left the map or hit a wall
+ */
+public class MissileSystem implements EcsSystem {
+    @Override
+    public void run(EcsWorld world, double dt) {
+        MissileArchetype missiles = world.getStore().getMissiles();
+        double step = MissileArchetype.SPEED * dt;
+        double size = MissileArchetype.SIZE;
+        double width = world.getWidth();
+        double height = world.getHeight();
+        
+        int n = missiles.size;
+        System.arraycopy(missiles.x, 0, missiles.prevX, 0, n);
+        System.arraycopy(missiles.y, 0, missiles.prevY, 0, n);
+        
+        for (int i = n - 1; i >= 0; i--) {
+            int dir = missiles.direction[i];
+            double x = missiles.x[i] + EntityStore.DX[dir] * step;
+            double y = missiles.y[i] + EntityStore.DY[dir] * step;
+            missiles.x[i] = x;
+            missiles.y[i] = y;
+            
+            // Iterating backwards keeps swap-remove from skipping unvisited missiles
+            if (x < 0 || x > width || y < 0 || y > height ||
+                world.getWallIndex().intersects(x, y, size, size)) {
+                missiles.removeAt(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.tankgame.ecs;
+
+/**
+ * Moves tanks along their direction, blocked by map bounds, walls and other tanks.
+ * Tanks never overlap walls or each other after a move, so only the thin strip a tank
+ * sweeps into needs testing; other tanks come from the buckets built at the start of the pass.
+ * A tank moved earlier in the pass is still filed under its old center, up to one step away.
+ */
+public class MovementSystem implements EcsSystem {
+    // Tanks drift slowly, so re-sorting them by bucket now and then keeps neighbors cache-local
+    private static final int REORDER_INTERVAL = 120; // ticks
+    
+    private int ticksSinceReorder = REORDER_INTERVAL;
+    
+    @Override
+    public void run(EcsWorld world, double dt) {
+        TankArchetype tanks = world.getStore().getTanks();
+        CellBuckets buckets = world.getTankBuckets();
+        double size = TankArchetype.SIZE;
+        double maxX = world.getWidth() - size;
+        double maxY = world.getHeight() - size;
+        
+        int n = tanks.size;
+        buckets.build(tanks.x, tanks.y, size, n);
+        if (++ticksSinceReorder >= REORDER_INTERVAL) {
+            tanks.reorder(buckets.items);
+            buckets.build(tanks.x, tanks.y, size, n);
+            ticksSinceReorder = 0;
+        }
+        
+        double[] x = tanks.x;
+        double[] y = tanks.y;
+        System.arraycopy(x, 0, tanks.prevX, 0, n);
+        System.arraycopy(y, 0, tanks.prevY, 0, n);
+        // How far a bucketed center may be from where that tank is now
+        double maxStep = EcsWorld.PLAYER_SPEED * dt;
+        
+        for (int i = 0; i < n; i++) {
+            int dir = tanks.direction[i];
+            double step = tanks.speed[i] * dt;
+            if (step <= 0) {
+                continue;
+            }
+            
+            int dx = EntityStore.DX[dir];
+            int dy = EntityStore.DY[dir];
+            double newX = x[i] + dx * step;
+            double newY = y[i] + dy * step;
+            
+            if (newX < 0 || newX > maxX || newY < 0 || newY > maxY) {
+                blocked(tanks, i);
+                continue;
+            }
+            
+            // Leading-edge strip swept by this step
+            double stripX = dx > 0 ? x[i] + size : newX;
+            double stripY = dy > 0 ? y[i] + size : newY;
+            double stripWidth = dx != 0 ? step : size;
+            double stripHeight = dy != 0 ? step : size;
+            
+            if (world.getWallIndex().intersects(stripX, stripY, stripWidth, stripHeight) ||
+                hitsOtherTank(i, newX, newY, stripX, stripY, stripWidth, stripHeight, maxStep, x, y, buckets)) {
+                blocked(tanks, i);
+                continue;
+            }
+            
+            x[i] = newX;
+            y[i] = newY;
+        }
+    }
+    
+    private void blocked(TankArchetype tanks, int slot) {
+        if (!tanks.player[slot]) {
+            tanks.decisionTimer[slot] = -1; // let SteeringSystem pick a new direction
+        }
+    }
+    
+    private boolean hitsOtherTank(int self, double newX, double newY,
+                                  double stripX, double stripY, double stripWidth, double stripHeight,
+                                  double maxStep, double[] x, double[] y, CellBuckets buckets) {
+        double size = TankArchetype.SIZE;
+        // A blocking tank must overlap the strip, so its center lies within half a tank of it,
+        // and its bucket is that of a center at most one step further away
+        double reach = size / 2 + maxStep;
+        int minCol = buckets.column(stripX - reach);
+        int maxCol = buckets.column(stripX + stripWidth + reach);
+        int minRow = buckets.row(stripY - reach);
+        int maxRow = buckets.row(stripY + stripHeight + reach);
+        
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                int cell = r * buckets.columns + c;
+                for (int k = buckets.cellStart[cell], end = buckets.cellStart[cell + 1]; k < end; k++) {
+                    int other = buckets.items[k];
+                    if (other != self && Math.abs(x[other] - newX) < size && Math.abs(y[other] - newY) < size) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.tankgame.ecs;
+
+/**
+ * Enemy AI decisions: random wanderers hold a direction for a few seconds, aggressive
+ * tanks re-aim at the player along the dominant axis. A tank blocked by MovementSystem
+ * gets its timer cleared and picks a random direction on the next tick.
+ */
+public class SteeringSystem implements EcsSystem {
+    private static final int AGGRESSIVE_INTERVAL = 90;   // ticks between re-aims
+    private static final int WANDER_MIN_DURATION = 180;  // ticks
+    private static final int WANDER_EXTRA_DURATION = 120;
+    private static final int BLOCKED_DURATION = 30;
+    private static final double RANDOM_CHANCE = 0.15;
+    
+    @Override
+    public void run(EcsWorld world, double dt) {
+        TankArchetype tanks = world.getStore().getTanks();
+        int playerSlot = tanks.playerSlot;
+        double playerX = playerSlot >= 0 ? tanks.x[playerSlot] : 0;
+        double playerY = playerSlot >= 0 ? tanks.y[playerSlot] : 0;
+        
+        for (int i = 0, n = tanks.size; i < n; i++) {
+            if (tanks.player[i] || --tanks.decisionTimer[i] > 0) {
+                continue;
+            }
+            
+            boolean blocked = tanks.decisionTimer[i] < 0;
+            if (tanks.aggressive[i] && playerSlot >= 0 && !blocked && world.nextDouble() >= RANDOM_CHANCE) {
+                double dx = playerX - tanks.x[i];
+                double dy = playerY - tanks.y[i];
+                if (Math.abs(dx) > Math.abs(dy)) {
+                    tanks.direction[i] = (byte) (dx > 0 ? EcsWorld.RIGHT : EcsWorld.LEFT);
+                } else {
+                    tanks.direction[i] = (byte) (dy > 0 ? EcsWorld.DOWN : EcsWorld.UP);
+                }
+                tanks.decisionTimer[i] = AGGRESSIVE_INTERVAL;
+            } else {
+                tanks.direction[i] = (byte) world.nextInt(EntityStore.DIRECTIONS.length);
+                tanks.decisionTimer[i] = blocked ? BLOCKED_DURATION
+                    : WANDER_MIN_DURATION + world.nextInt(WANDER_EXTRA_DURATION);
+            }
+        }
+    }
+}
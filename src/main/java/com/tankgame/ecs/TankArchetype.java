@@ -0,0 +1,160 @@
+package com.tankgame.ecs;
+
+import com.tankgame.model.Direction;
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays storage for tanks: one primitive array per component, indexed by slot.
+ * Removal swaps the last tank into the freed slot, so live tanks are always 0..size-1.
+ */
+public class TankArchetype {
+    public static final double SIZE = 40;
+    public static final int MAX_HEALTH = 100;
+    
+    int size;
+    double[] x;
+    double[] y;
+    double[] prevX;
+    double[] prevY;
+    double[] speed;
+    double[] cooldown;
+    byte[] direction;
+    int[] health;
+    int[] decisionTimer;
+    boolean[] player;
+    boolean[] aggressive;
+    int playerSlot = -1;
+    
+    TankArchetype(int capacity) {
+        capacity = Math.max(capacity, 16);
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        speed = new double[capacity];
+        cooldown = new double[capacity];
+        direction = new byte[capacity];
+        health = new int[capacity];
+        decisionTimer = new int[capacity];
+        player = new boolean[capacity];
+        aggressive = new boolean[capacity];
+    }
+    
+    int add(double tankX, double tankY, Direction dir, double tankSpeed, boolean isPlayer, boolean isAggressive) {
+        if (size == x.length) {
+            grow();
+        }
+        
+        int slot = size++;
+        x[slot] = tankX;
+        y[slot] = tankY;
+        prevX[slot] = tankX;
+        prevY[slot] = tankY;
+        speed[slot] = tankSpeed;
+        cooldown[slot] = 0;
+        direction[slot] = (byte) dir.ordinal();
+        health[slot] = MAX_HEALTH;
+        decisionTimer[slot] = 0;
+        player[slot] = isPlayer;
+        aggressive[slot] = isAggressive;
+        
+        if (isPlayer) {
+            playerSlot = slot;
+        }
+        return slot;
+    }
+    
+    void removeAt(int slot) {
+        int last = --size;
+        if (slot == playerSlot) {
+            playerSlot = -1;
+        }
+        if (slot != last) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+            prevX[slot] = prevX[last];
+            prevY[slot] = prevY[last];
+            speed[slot] = speed[last];
+            cooldown[slot] = cooldown[last];
+            direction[slot] = direction[last];
+            health[slot] = health[last];
+            decisionTimer[slot] = decisionTimer[last];
+            player[slot] = player[last];
+            aggressive[slot] = aggressive[last];
+            if (last == playerSlot) {
+                playerSlot = slot;
+            }
+        }
+    }
+    
+    /**
+     * Permute the slots so that slot i receives the tank currently in order[i].
+     * Used to keep spatial neighbors close together in memory.
+     */
+    void reorder(int[] order) {
+        x = permute(x, order);
+        y = permute(y, order);
+        prevX = permute(prevX, order);
+        prevY = permute(prevY, order);
+        speed = permute(speed, order);
+        cooldown = permute(cooldown, order);
+        health = permute(health, order);
+        decisionTimer = permute(decisionTimer, order);
+        
+        byte[] newDirection = new byte[direction.length];
+        boolean[] newPlayer = new boolean[player.length];
+        boolean[] newAggressive = new boolean[aggressive.length];
+        for (int i = 0; i < size; i++) {
+            int from = order[i];
+            newDirection[i] = direction[from];
+            newPlayer[i] = player[from];
+            newAggressive[i] = aggressive[from];
+            if (from == playerSlot) {
+                playerSlot = i;
+            }
+        }
+        direction = newDirection;
+        player = newPlayer;
+        aggressive = newAggressive;
+    }
+    
+    private double[] permute(double[] values, int[] order) {
+        double[] result = new double[values.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+    
+    private int[] permute(int[] values, int[] order) {
+        int[] result = new int[values.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+    
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        cooldown = Arrays.copyOf(cooldown, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        health = Arrays.copyOf(health, capacity);
+        decisionTimer = Arrays.copyOf(decisionTimer, capacity);
+        player = Arrays.copyOf(player, capacity);
+        aggressive = Arrays.copyOf(aggressive, capacity);
+    }
+    
+    // Read-only accessors for code outside the systems
+    public int size() { return size; }
+    public double getX(int slot) { return x[slot]; }
+    public double getY(int slot) { return y[slot]; }
+    public Direction getDirection(int slot) { return EntityStore.DIRECTIONS[direction[slot]]; }
+    public int getHealth(int slot) { return health[slot]; }
+    public boolean isPlayer(int slot) { return player[slot]; }
+    public int getPlayerSlot() { return playerSlot; }
+}
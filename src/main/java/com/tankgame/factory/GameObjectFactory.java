@@ -2,30 +2,89 @@ package com.tankgame.factory;
 
 import com.tankgame.model.*;
 import com.tankgame.strategy.*;
+import com.tankgame.util.SeededRandom;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Factory Pattern: Creates game objects
+ * Factory Pattern: Creates game objects.
+ * Short-lived missiles and explosions come from per-thread pools and must be handed
+ * back with releaseMissile/releaseExplosion once they are out of the game.
  */
 public class GameObjectFactory {
-    private static GameObjectFactory instance;
+    // Pool capacities, overridable with -Dtankgame.pool.missiles=N / -Dtankgame.pool.explosions=N
+    private static final int MISSILE_POOL_SIZE = Integer.getInteger("tankgame.pool.missiles", 256);
+    private static final int EXPLOSION_POOL_SIZE = Integer.getInteger("tankgame.pool.explosions", 64);
+    
+    // Eagerly created and shared by engines on different threads: the pools are per thread
+    // and the pool lists are concurrent, so no engine sees another one's objects
+    private static final GameObjectFactory instance = new GameObjectFactory();
+    
+    // One pool per thread, since each engine runs on a single thread; the lists only feed stats
+    private final List<ObjectPool<Missile>> allMissilePools = new CopyOnWriteArrayList<>();
+    private final List<ObjectPool<Explosion>> allExplosionPools = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ObjectPool<Missile>> missilePool = ThreadLocal.withInitial(() -> {
+        ObjectPool<Missile> pool = new ObjectPool<>(() -> new Missile(0, 0, Direction.UP, null), MISSILE_POOL_SIZE);
+        allMissilePools.add(pool);
+        return pool;
+    });
+    private final ThreadLocal<ObjectPool<Explosion>> explosionPool = ThreadLocal.withInitial(() -> {
+        ObjectPool<Explosion> pool = new ObjectPool<>(() -> new Explosion(0, 0), EXPLOSION_POOL_SIZE);
+        allExplosionPools.add(pool);
+        return pool;
+    });
+    
+    /**
+     * Pool counters summed over all threads
+     */
+    public static class PoolStats {
+        private final long hits;
+        private final long misses;
+        private final long discards;
+        
+        PoolStats(List<? extends ObjectPool<?>> pools) {
+            long h = 0, m = 0, d = 0;
+            for (ObjectPool<?> pool : pools) {
+                h += pool.getHits();
+                m += pool.getMisses();
+                d += pool.getDiscards();
+            }
+            this.hits = h;
+            this.misses = m;
+            this.discards = d;
+        }
+        
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getDiscards() { return discards; }
+        
+        @Override
+        public String toString() {
+            return "hits=" + hits + " misses=" + misses + " discards=" + discards;
+        }
+    }
     
     private GameObjectFactory() {}
     
     public static GameObjectFactory getInstance() {
-        if (instance == null) {
-            instance = new GameObjectFactory();
-        }
         return instance;
     }
     
     public Tank createPlayerTank(double x, double y) {
-        return new Tank(x, y, Direction.UP, new PlayerMovementStrategy(), 3.5, true);
+        return new Tank(x, y, Direction.UP, new PlayerMovementStrategy(), 210, true);
     }
     
     public Tank createEnemyTank(double x, double y, boolean aggressive) {
-        MovementStrategy strategy = aggressive ? 
-            new AggressiveMovementStrategy() : new RandomMovementStrategy();
-        return new Tank(x, y, Direction.DOWN, strategy, 1.0, false);
+        return createEnemyTank(x, y, aggressive, new SeededRandom());
+    }
+    
+    /**
+     * Enemy whose AI draws its choices from the given source, so a seeded source gives a reproducible tank
+     */
+    public Tank createEnemyTank(double x, double y, boolean aggressive, SeededRandom random) {
+        MovementStrategy strategy = aggressive ?
+            new AggressiveMovementStrategy(random) : new RandomMovementStrategy(random);
+        return new Tank(x, y, Direction.DOWN, strategy, 60, false);
     }
     
     public Wall createWall(double x, double y, double width, double height) {
@@ -36,8 +95,32 @@ public class GameObjectFactory {
         return new MedPack(x, y);
     }
     
+    public Missile createMissile(double x, double y, Direction direction, Tank owner) {
+        Missile missile = missilePool.get().acquire();
+        missile.reset(x, y, direction, owner);
+        return missile;
+    }
+    
     public Explosion createExplosion(double x, double y) {
-        return new Explosion(x, y);
+        Explosion explosion = explosionPool.get().acquire();
+        explosion.reset(x, y);
+        return explosion;
+    }
+    
+    public void releaseMissile(Missile missile) {
+        missile.clearOwner();
+        missilePool.get().release(missile);
+    }
+    
+    public void releaseExplosion(Explosion explosion) {
+        explosionPool.get().release(explosion);
+    }
+    
+    public PoolStats getMissilePoolStats() {
+        return new PoolStats(allMissilePools);
+    }
+    
+    public PoolStats getExplosionPoolStats() {
+        return new PoolStats(allExplosionPools);
     }
 }
-
@@ -0,0 +1,60 @@
+package com.tankgame.factory;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * Object Pool Pattern: Keeps released objects around for reuse instead of allocating new ones.
+ * Not thread-safe; each pool is meant to be used from a single thread.
+ */
+public class ObjectPool<T> {
+    private final Supplier<T> creator;
+    private final ArrayDeque<T> free;
+    private final int capacity;
+    
+    // Plain counters: written only by the owning thread, read approximately by stats
+    private long hits;
+    private long misses;
+    private long discards;
+    
+    public ObjectPool(Supplier<T> creator, int capacity) {
+        this.creator = creator;
+        this.capacity = capacity;
+        this.free = new ArrayDeque<>(capacity);
+        
+        for (int i = 0; i < capacity; i++) {
+            free.addLast(creator.get());
+        }
+    }
+    
+    /**
+     * Take a pooled object, allocating a new one if the pool is empty.
+     * The caller is responsible for resetting its state.
+     */
+    public T acquire() {
+        T obj = free.pollLast();
+        if (obj == null) {
+            misses++;
+            return creator.get();
+        }
+        hits++;
+        return obj;
+    }
+    
+    /**
+     * Return an object for reuse; dropped for the GC once the pool is full
+     */
+    public void release(T obj) {
+        if (free.size() < capacity) {
+            free.addLast(obj);
+        } else {
+            discards++;
+        }
+    }
+    
+    public int getCapacity() { return capacity; }
+    public int getFreeCount() { return free.size(); }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getDiscards() { return discards; }
+}
@@ -1,14 +1,11 @@
 package com.tankgame.model;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-import com.tankgame.util.ResourceManager;
-
 /**
  * Explosion class for visual effects when tanks are destroyed
  */
 public class Explosion extends GameObject {
-    private static final double EXPLOSION_SIZE = 60;
+    public static final double EXPLOSION_SIZE = 60;
+    public static final int FRAME_COUNT = 11; // 0.gif to 10.gif
     private static final double FRAME_DURATION = 0.05; // seconds per frame
     
     private int currentFrame;
@@ -19,15 +16,24 @@ public class Explosion extends GameObject {
         super(x - EXPLOSION_SIZE / 2, y - EXPLOSION_SIZE / 2, EXPLOSION_SIZE, EXPLOSION_SIZE);
         this.currentFrame = 0;
         this.frameTimer = 0;
-        this.totalFrames = 11; // 0.gif to 10.gif
+        this.totalFrames = FRAME_COUNT;
+    }
+    
+    /**
+     * Restart a pooled explosion centered on the given point
+     */
+    public void reset(double x, double y) {
+        resetPosition(x - EXPLOSION_SIZE / 2, y - EXPLOSION_SIZE / 2);
+        this.currentFrame = 0;
+        this.frameTimer = 0;
     }
     
     @Override
-    public void update() {
-        frameTimer += 0.016; // Approximate frame time
+    public void update(double dt) {
+        frameTimer += dt;
         
         if (frameTimer >= FRAME_DURATION) {
-            frameTimer = 0;
+            frameTimer -= FRAME_DURATION;
             currentFrame++;
             
             if (currentFrame >= totalFrames) {
@@ -42,13 +48,28 @@ public class Explosion extends GameObject {
     }
     
     @Override
-    public void render(GraphicsContext gc) {
-        if (currentFrame < totalFrames) {
-            Image explosionImage = ResourceManager.getInstance().getExplosionImage(currentFrame);
-            if (explosionImage != null) {
-                gc.drawImage(explosionImage, x, y, width, height);
-            }
-        }
+    public void accept(GameObjectVisitor visitor) {
+        visitor.visit(this);
+    }
+    
+    /**
+     * Continue the animation where a world snapshot left it
+     */
+    public void restoreFrame(int currentFrame, double frameTimer) {
+        this.currentFrame = currentFrame;
+        this.frameTimer = frameTimer;
+    }
+    
+    public double getFrameTimer() {
+        return frameTimer;
+    }
+    
+    public int getCurrentFrame() {
+        return currentFrame;
+    }
+    
+    public int getTotalFrames() {
+        return totalFrames;
     }
 }
 
@@ -1,7 +1,5 @@
 package com.tankgame.model;
 
-import javafx.scene.canvas.GraphicsContext;
-
 /**
  * Abstract base class for all game objects
  */
@@ -11,6 +9,11 @@ public abstract class GameObject {
     protected double width;
     protected double height;
     protected boolean active;
+    // Unique per engine, in creation order; identifies the object in snapshots
+    protected int id;
+    // Position at the start of the current simulation step, for render interpolation
+    protected double previousX;
+    protected double previousY;
     
     public GameObject(double x, double y, double width, double height) {
         this.x = x;
@@ -18,10 +21,15 @@ public abstract class GameObject {
         this.width = width;
         this.height = height;
         this.active = true;
+        this.previousX = x;
+        this.previousY = y;
     }
     
-    public abstract void update();
-    public abstract void render(GraphicsContext gc);
+    /**
+     * Advance the object by one simulation step of dt seconds
+     */
+    public abstract void update(double dt);
+    public abstract void accept(GameObjectVisitor visitor);
     
     public boolean intersects(GameObject other) {
         return this.x < other.x + other.width &&
@@ -37,6 +45,41 @@ public abstract class GameObject {
     public double getHeight() { return height; }
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+    
+    /**
+     * Put the object back where a world snapshot says it was, with nothing to interpolate from
+     */
+    public void restore(double x, double y, boolean active) {
+        this.x = x;
+        this.y = y;
+        this.previousX = x;
+        this.previousY = y;
+        this.active = active;
+    }
+    
+    /**
+     * Put a recycled object back into play at a new position
+     */
+    protected void resetPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+        this.previousX = x;
+        this.previousY = y;
+        this.active = true;
+    }
+    
+    public void savePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+    
+    /**
+     * Position blended between the previous and current step; alpha 0 is the previous step, 1 the current
+     */
+    public double getInterpolatedX(double alpha) { return previousX + (x - previousX) * alpha; }
+    public double getInterpolatedY(double alpha) { return previousY + (y - previousY) * alpha; }
     
     public double getCenterX() { return x + width / 2; }
     public double getCenterY() { return y + height / 2; }
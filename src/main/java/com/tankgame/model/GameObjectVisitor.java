@@ -0,0 +1,13 @@
+package com.tankgame.model;
+
+/**
+ * Visitor Pattern: Lets rendering (or any other per-type pass) live outside
+ * the simulation classes without instanceof chains
+ */
+public interface GameObjectVisitor {
+    void visit(Tank tank);
+    void visit(Missile missile);
+    void visit(Wall wall);
+    void visit(MedPack medPack);
+    void visit(Explosion explosion);
+}
@@ -1,15 +1,11 @@
 package com.tankgame.model;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-import com.tankgame.util.ResourceManager;
-
 /**
  * Missile class representing projectiles fired by tanks
  */
 public class Missile extends GameObject {
-    private static final double MISSILE_SIZE = 10;
-    private static final double MISSILE_SPEED = 5;
+    public static final double MISSILE_SIZE = 10;
+    private static final double MISSILE_SPEED = 300; // pixels per second
     private static final int DAMAGE = 25;
     
     private Direction direction;
@@ -21,18 +17,31 @@ public class Missile extends GameObject {
         this.owner = owner;
     }
     
+    /**
+     * Re-arm a pooled missile
+     */
+    public void reset(double x, double y, Direction direction, Tank owner) {
+        resetPosition(x, y);
+        this.direction = direction;
+        this.owner = owner;
+    }
+    
+    /**
+     * Forget the firing tank so a pooled missile doesn't keep it reachable
+     */
+    public void clearOwner() {
+        owner = null;
+    }
+    
     @Override
-    public void update() {
-        x += direction.getDx() * MISSILE_SPEED;
-        y += direction.getDy() * MISSILE_SPEED;
+    public void update(double dt) {
+        x += direction.getDx() * MISSILE_SPEED * dt;
+        y += direction.getDy() * MISSILE_SPEED * dt;
     }
     
     @Override
-    public void render(GraphicsContext gc) {
-        Image missileImage = ResourceManager.getInstance().getMissileImage(direction);
-        if (missileImage != null) {
-            gc.drawImage(missileImage, x, y, width, height);
-        }
+    public void accept(GameObjectVisitor visitor) {
+        visitor.visit(this);
     }
     
     public boolean isOutOfBounds(double mapWidth, double mapHeight) {
@@ -46,5 +55,9 @@ public class Missile extends GameObject {
     public Tank getOwner() {
         return owner;
     }
+    
+    public Direction getDirection() {
+        return direction;
+    }
 }
 
@@ -1,9 +1,9 @@
 package com.tankgame.model;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
+import com.tankgame.core.SpatialGrid;
+import com.tankgame.core.StaticGeometryIndex;
+import com.tankgame.factory.GameObjectFactory;
 import com.tankgame.strategy.MovementStrategy;
-import com.tankgame.util.ResourceManager;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,17 +11,18 @@ import java.util.List;
  * Tank class representing both player and enemy tanks
  */
 public class Tank extends GameObject {
-    private static final double TANK_SIZE = 40;
+    public static final double TANK_SIZE = 40;
     private static final int MAX_HEALTH = 100;
     private static final double FIRE_COOLDOWN = 0.5; // seconds
     
     private int health;
     private Direction direction;
     private MovementStrategy movementStrategy;
-    private double speed;
+    private double speed; // pixels per second
     private boolean isPlayer;
     private double fireCooldown;
     private List<Missile> missiles;
+    private final List<GameObject> nearbyObjects;
     
     public Tank(double x, double y, Direction direction, MovementStrategy strategy, 
                 double speed, boolean isPlayer) {
@@ -33,22 +34,23 @@ public class Tank extends GameObject {
         this.isPlayer = isPlayer;
         this.fireCooldown = 0;
         this.missiles = new ArrayList<>();
+        this.nearbyObjects = new ArrayList<>();
     }
     
     @Override
-    public void update() {
+    public void update(double dt) {
         if (fireCooldown > 0) {
-            fireCooldown -= 0.016; // Approximate frame time
+            fireCooldown -= dt;
         }
     }
     
-    public void move(Direction newDirection, List<GameObject> obstacles, double mapWidth, double mapHeight) {
+    public void move(Direction newDirection, List<GameObject> obstacles, double mapWidth, double mapHeight, double dt) {
         if (newDirection != null) {
             this.direction = newDirection;
         }
         
-        double newX = x + direction.getDx() * speed;
-        double newY = y + direction.getDy() * speed;
+        double newX = x + direction.getDx() * speed * dt;
+        double newY = y + direction.getDy() * speed * dt;
         
         // Check boundaries
         if (newX < 0 || newX + width > mapWidth || newY < 0 || newY + height > mapHeight) {
@@ -70,6 +72,47 @@ public class Tank extends GameObject {
         }
     }
     
+    /**
+     * Same as the list-based move, but tests walls against the static index, only tests
+     * moving obstacles from nearby grid cells, and re-buckets the tank when the move succeeds
+     */
+    public void move(Direction newDirection, SpatialGrid grid, StaticGeometryIndex wallIndex,
+                     double mapWidth, double mapHeight, double dt) {
+        if (newDirection != null) {
+            this.direction = newDirection;
+        }
+        
+        double newX = x + direction.getDx() * speed * dt;
+        double newY = y + direction.getDy() * speed * dt;
+        
+        // Check boundaries
+        if (newX < 0 || newX + width > mapWidth || newY < 0 || newY + height > mapHeight) {
+            return;
+        }
+        
+        if (wallIndex.intersects(newX, newY, width, height)) {
+            return;
+        }
+        
+        grid.query(newX, newY, width, height, nearbyObjects);
+        
+        double oldX = x;
+        double oldY = y;
+        x = newX;
+        y = newY;
+        
+        for (int i = 0, n = nearbyObjects.size(); i < n; i++) {
+            GameObject obstacle = nearbyObjects.get(i);
+            if (obstacle != this && obstacle.isActive() && obstacle.isSolid() && this.intersects(obstacle)) {
+                x = oldX;
+                y = oldY;
+                return;
+            }
+        }
+        
+        grid.update(this);
+    }
+    
     public Missile fire() {
         if (fireCooldown > 0) {
             return null;
@@ -100,7 +143,7 @@ public class Tank extends GameObject {
                 break;
         }
         
-        return new Missile(missileX, missileY, direction, this);
+        return GameObjectFactory.getInstance().createMissile(missileX, missileY, direction, this);
     }
     
     public void takeDamage(int damage) {
@@ -115,55 +158,29 @@ public class Tank extends GameObject {
         health = MAX_HEALTH;
     }
     
-    @Override
-    public void render(GraphicsContext gc) {
-        Image tankImage = ResourceManager.getInstance().getTankImage(direction, isPlayer);
-        if (tankImage != null) {
-            gc.drawImage(tankImage, x, y, width, height);
-            
-            // Add color tint for player tank (blue) vs enemy tank (red)
-            if (isPlayer) {
-                gc.setFill(javafx.scene.paint.Color.rgb(0, 100, 255, 0.3));
-                gc.fillRect(x, y, width, height);
-            } else {
-                gc.setFill(javafx.scene.paint.Color.rgb(255, 0, 0, 0.3));
-                gc.fillRect(x, y, width, height);
-            }
-        }
-        
-        // Draw health bar above tank
-        if (isPlayer || health < MAX_HEALTH) {
-            drawHealthBar(gc);
-        }
+    /**
+     * Restore the state a world snapshot recorded; position goes through restore()
+     */
+    public void restoreState(Direction direction, int health, double fireCooldown) {
+        this.direction = direction;
+        this.health = health;
+        this.fireCooldown = fireCooldown;
     }
     
-    private void drawHealthBar(GraphicsContext gc) {
-        double barWidth = width;
-        double barHeight = 5;
-        double barX = x;
-        double barY = y - 10;
-        
-        // Background (red)
-        gc.setFill(javafx.scene.paint.Color.RED);
-        gc.fillRect(barX, barY, barWidth, barHeight);
-        
-        // Health (green)
-        gc.setFill(javafx.scene.paint.Color.LIME);
-        double healthWidth = barWidth * (health / (double) MAX_HEALTH);
-        gc.fillRect(barX, barY, healthWidth, barHeight);
-        
-        // Border
-        gc.setStroke(javafx.scene.paint.Color.BLACK);
-        gc.setLineWidth(1);
-        gc.strokeRect(barX, barY, barWidth, barHeight);
+    @Override
+    public void accept(GameObjectVisitor visitor) {
+        visitor.visit(this);
     }
     
     // Getters
     public int getHealth() { return health; }
+    public int getMaxHealth() { return MAX_HEALTH; }
+    public double getFireCooldown() { return fireCooldown; }
     public Direction getDirection() { return direction; }
     public void setDirection(Direction direction) { this.direction = direction; }
     public MovementStrategy getMovementStrategy() { return movementStrategy; }
     public boolean isPlayer() { return isPlayer; }
     public double getSpeed() { return speed; }
+    public void setSpeed(double speed) { this.speed = speed; }
 }
 
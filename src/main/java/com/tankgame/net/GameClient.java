@@ -0,0 +1,161 @@
+package com.tankgame.net;
+
+import com.tankgame.core.PlayerCommand;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal non-blocking client of a GameServer: sends inputs and parses the frames it gets back.
+ * It keeps the latest world header and counts what arrives, but doesn't keep the entities;
+ * many clients can share one selector, calling read() whenever their key is readable.
+ */
+public class GameClient implements Closeable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+    
+    private final SocketChannel channel;
+    private final ByteBuffer inputBuffer = ByteBuffer.allocate(1);
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private int clientId;
+    private String scenarioName;
+    private long seed;
+    private int tick;
+    private int score;
+    private int lives;
+    private int playerId;
+    private int lastEntityCount;
+    private long bytesReceived;
+    private long bytesSent;
+    private long updateCount;
+    private long entityCount;
+    
+    public GameClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.configureBlocking(false);
+    }
+    
+    public SelectionKey register(Selector selector) throws IOException {
+        return channel.register(selector, SelectionKey.OP_READ, this);
+    }
+    
+    /**
+     * Send one input; returns false if the socket couldn't take it right now
+     */
+    public boolean sendInput(PlayerCommand command, boolean pressed) throws IOException {
+        inputBuffer.clear();
+        inputBuffer.put(NetProtocol.encodeInput(command, pressed));
+        inputBuffer.flip();
+        int written = channel.write(inputBuffer);
+        bytesSent += written;
+        return written == 1;
+    }
+    
+    /**
+     * Read what has arrived and parse every complete frame; returns false once the server has closed
+     */
+    public boolean read() throws IOException {
+        int count;
+        while ((count = channel.read(buffer)) > 0) {
+            bytesReceived += count;
+            parseFrames();
+        }
+        return count >= 0;
+    }
+    
+    private void parseFrames() throws IOException {
+        buffer.flip();
+        while (buffer.remaining() >= 4) {
+            int length = buffer.getInt(buffer.position());
+            if (buffer.remaining() < 4 + length) {
+                break;
+            }
+            int end = buffer.position() + 4 + length;
+            buffer.getInt();
+            byte type = buffer.get();
+            if (type == NetProtocol.WELCOME) {
+                parseWelcome();
+            } else if (type == NetProtocol.WORLD) {
+                parseWorld(end);
+            } else {
+                throw new IOException("Unknown frame type " + type);
+            }
+            buffer.position(end);
+        }
+        buffer.compact();
+        
+        if (!buffer.hasRemaining()) {
+            // A frame bigger than the buffer: grow it so the frame fits
+            ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+    
+    private void parseWelcome() throws IOException {
+        if (buffer.getInt() != NetProtocol.MAGIC) {
+            throw new IOException("Not a tank game server");
+        }
+        int version = buffer.getShort();
+        if (version != NetProtocol.VERSION) {
+            throw new IOException("Unsupported protocol version " + version);
+        }
+        clientId = buffer.getInt();
+        byte[] name = new byte[buffer.getShort() & 0xffff];
+        buffer.get(name);
+        scenarioName = new String(name, StandardCharsets.UTF_8);
+        seed = buffer.getLong();
+    }
+    
+    /**
+     * Reads the header and walks the entity records, which must end exactly at the frame end
+     */
+    private void parseWorld(int end) throws IOException {
+        tick = buffer.getInt();
+        score = buffer.getInt();
+        lives = buffer.get();
+        buffer.get(); // game state
+        playerId = buffer.getInt();
+        lastEntityCount = buffer.getInt();
+        
+        int position = buffer.position();
+        for (int i = 0; i < lastEntityCount && position < end; i++) {
+            int kind = (buffer.get(position + 4) & 0xff) >>> 2;
+            if (kind > NetProtocol.KIND_MEDPACK) {
+                throw new IOException("Unknown entity kind " + kind + " in tick " + tick);
+            }
+            position += NetProtocol.entityBytes(kind);
+        }
+        if (position != end) {
+            throw new IOException("World frame for tick " + tick + " is " + (end - buffer.position()) +
+                                  " bytes of entities, not what " + lastEntityCount + " entities take");
+        }
+        updateCount++;
+        entityCount += lastEntityCount;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    public int getClientId() { return clientId; }
+    public String getScenarioName() { return scenarioName; }
+    public long getSeed() { return seed; }
+    public int getTick() { return tick; }
+    public int getScore() { return score; }
+    public int getLives() { return lives; }
+    public int getPlayerId() { return playerId; }
+    public int getLastEntityCount() { return lastEntityCount; }
+    public long getBytesReceived() { return bytesReceived; }
+    public long getBytesSent() { return bytesSent; }
+    public long getUpdateCount() { return updateCount; }
+    public long getEntityCount() { return entityCount; }
+}
@@ -0,0 +1,429 @@
+package com.tankgame.net;
+
+import com.tankgame.core.GameEngine;
+import com.tankgame.core.PlayerCommand;
+import com.tankgame.core.Scenario;
+import com.tankgame.model.*;
+import com.tankgame.util.LatencyHistogram;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Authoritative headless server: one GameEngine ticking at the fixed timestep on the server
+ * thread, with every client on the same non-blocking selector. Clients only send input
+ * (see NetProtocol); after each tick every client gets the world around the player tank as
+ * one binary update, encoded once and shared by all of them.
+ *
+ * The engine has a single player tank, so the clients drive it together: a command is held
+ * while any client holds it. A client that can't keep up skips updates rather than queueing
+ * them, so it always receives the latest complete world.
+ *
+ * Usage: GameServer [--port N] [--scenario NAME] [--seed N]
+ */
+public class GameServer implements Closeable {
+    private static final int DEFAULT_PORT = 7777;
+    private static final long TICK_NANOS = Math.round(GameEngine.FIXED_TIMESTEP * 1_000_000_000L);
+    // Area around the player sent to clients: a screen plus a margin for what's about to enter
+    private static final double VIEW_WIDTH = 1600;
+    private static final double VIEW_HEIGHT = 1200;
+    private static final int READ_BUFFER_BYTES = 256;
+    private static final int REPORT_INTERVAL_TICKS = 600;
+    
+    private final GameEngine engine;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final List<Connection> connections = new ArrayList<>();
+    // Per command, how many clients hold it
+    private final int[] holders = new int[PlayerCommand.values().length];
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+    private final List<GameObject> visible = new ArrayList<>();
+    private final EntityWriter entityWriter = new EntityWriter();
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private volatile boolean running = true;
+    private boolean reporting;
+    private int tick;
+    private int nextClientId = 1;
+    private long lateTicks;
+    private long bytesSent;
+    private long bytesReceived;
+    private long updatesSent;
+    private long updatesSkipped;
+    
+    /**
+     * Per-client state: the commands it holds and the frame still being written to it
+     */
+    private static final class Connection {
+        final int id;
+        final SocketChannel channel;
+        final SelectionKey key;
+        final boolean[] held = new boolean[PlayerCommand.values().length];
+        ByteBuffer pending;
+        // Nothing of the pending frame written yet, and it's an update a newer one can replace
+        boolean pendingReplaceable;
+        
+        Connection(int id, SocketChannel channel, SelectionKey key) {
+            this.id = id;
+            this.channel = channel;
+            this.key = key;
+        }
+    }
+    
+    public GameServer(GameEngine engine, InetSocketAddress address) throws IOException {
+        this.engine = engine;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+    
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        String scenarioName = "classic";
+        Long seed = null;
+        
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--scenario":
+                    scenarioName = args[i + 1];
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+        
+        Scenario scenario = Scenario.byName(scenarioName);
+        GameEngine engine = new GameEngine(scenario, seed != null ? seed : System.nanoTime());
+        GameServer server = new GameServer(engine, new InetSocketAddress(port));
+        server.reporting = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Serving " + scenario.getName() + " (seed " + engine.getSeed() + ") on port " + server.getPort());
+        server.run();
+    }
+    
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+    
+    /**
+     * Accept clients and tick the match until close() is called from another thread
+     */
+    public void run() throws IOException {
+        try {
+            long nextTick = System.nanoTime() + TICK_NANOS;
+            while (running) {
+                long wait = nextTick - System.nanoTime();
+                if (wait >= 1_000_000) {
+                    selector.select(wait / 1_000_000);
+                } else {
+                    selector.selectNow();
+                }
+                handleSelectedKeys();
+                
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    tick();
+                    nextTick += TICK_NANOS;
+                    if (now - nextTick > TICK_NANOS) {
+                        // More than a tick behind: don't try to catch up in a burst
+                        lateTicks++;
+                        nextTick = now + TICK_NANOS;
+                    }
+                }
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.channel.close();
+            }
+            connections.clear();
+            serverChannel.close();
+            selector.close();
+        }
+    }
+    
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+    
+    private void handleSelectedKeys() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    read(connection);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(connection);
+                }
+            } catch (IOException e) {
+                disconnect(connection);
+            }
+        }
+    }
+    
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        Connection connection = new Connection(nextClientId++, channel, key);
+        key.attach(connection);
+        connections.add(connection);
+        
+        byte[] scenarioName = engine.getScenario().getName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer welcome = ByteBuffer.allocate(4 + 1 + 4 + 2 + 4 + 2 + scenarioName.length + 8 + 2);
+        welcome.putInt(welcome.capacity() - 4);
+        welcome.put(NetProtocol.WELCOME);
+        welcome.putInt(NetProtocol.MAGIC);
+        welcome.putShort((short) NetProtocol.VERSION);
+        welcome.putInt(connection.id);
+        welcome.putShort((short) scenarioName.length);
+        welcome.put(scenarioName);
+        welcome.putLong(engine.getSeed());
+        welcome.putShort((short) Math.round(1 / GameEngine.FIXED_TIMESTEP));
+        welcome.flip();
+        send(connection, welcome, false);
+    }
+    
+    private void read(Connection connection) throws IOException {
+        readBuffer.clear();
+        int count = connection.channel.read(readBuffer);
+        if (count < 0) {
+            disconnect(connection);
+            return;
+        }
+        bytesReceived += count;
+        
+        for (int i = 0; i < count; i++) {
+            byte input = readBuffer.get(i);
+            PlayerCommand command = NetProtocol.decodeCommand(input);
+            if (command == null) {
+                throw new IOException("Client " + connection.id + " sent an unknown command");
+            }
+            if (NetProtocol.isPress(input)) {
+                press(connection, command);
+            } else {
+                release(connection, command);
+            }
+        }
+    }
+    
+    private void press(Connection connection, PlayerCommand command) {
+        int ordinal = command.ordinal();
+        if (!connection.held[ordinal]) {
+            connection.held[ordinal] = true;
+            if (holders[ordinal]++ == 0) {
+                engine.commandPressed(command);
+            }
+        }
+    }
+    
+    private void release(Connection connection, PlayerCommand command) {
+        int ordinal = command.ordinal();
+        if (connection.held[ordinal]) {
+            connection.held[ordinal] = false;
+            if (--holders[ordinal] == 0) {
+                engine.commandReleased(command);
+            }
+        }
+    }
+    
+    private void disconnect(Connection connection) throws IOException {
+        for (PlayerCommand command : PlayerCommand.values()) {
+            release(connection, command);
+        }
+        connections.remove(connection);
+        connection.key.cancel();
+        connection.channel.close();
+    }
+    
+    private void tick() throws IOException {
+        long start = System.nanoTime();
+        engine.update();
+        tick++;
+        
+        if (!connections.isEmpty()) {
+            ByteBuffer update = encodeWorld();
+            // Disconnects remove from the list, so iterate over a stable index range backwards
+            for (int i = connections.size() - 1; i >= 0; i--) {
+                Connection connection = connections.get(i);
+                try {
+                    send(connection, update.duplicate(), true);
+                } catch (IOException e) {
+                    disconnect(connection);
+                }
+            }
+        }
+        tickTimes.record(System.nanoTime() - start);
+        
+        if (reporting && tick % REPORT_INTERVAL_TICKS == 0) {
+            System.out.printf("tick %d  clients %d  tick p99 %.2f ms  sent %d KB  skipped %d  late %d%n",
+                tick, connections.size(), tickTimes.getPercentile(99) / 1_000_000.0,
+                bytesSent / 1024, updatesSkipped, lateTicks);
+        }
+    }
+    
+    /**
+     * The world around the player tank as one WORLD frame
+     */
+    private ByteBuffer encodeWorld() {
+        Tank player = engine.getPlayerTank();
+        engine.queryObjects(player.getCenterX() - VIEW_WIDTH / 2, player.getCenterY() - VIEW_HEIGHT / 2,
+            VIEW_WIDTH, VIEW_HEIGHT, visible);
+        
+        ByteBuffer buffer = ByteBuffer.allocate(NetProtocol.WORLD_HEADER_BYTES
+            + (visible.size() + 1) * NetProtocol.MAX_ENTITY_BYTES);
+        buffer.putInt(0); // length, filled in below
+        buffer.put(NetProtocol.WORLD);
+        buffer.putInt(tick);
+        buffer.putInt(engine.getScore());
+        buffer.put((byte) engine.getLives());
+        buffer.put((byte) engine.getGameState().ordinal());
+        buffer.putInt(player.getId());
+        int countPosition = buffer.position();
+        buffer.putInt(0);
+        
+        entityWriter.buffer = buffer;
+        entityWriter.count = 0;
+        entityWriter.player = player;
+        for (int i = 0, n = visible.size(); i < n; i++) {
+            GameObject obj = visible.get(i);
+            if (obj.isActive()) {
+                obj.accept(entityWriter);
+            }
+        }
+        buffer.putInt(countPosition, entityWriter.count);
+        buffer.putInt(0, buffer.position() - 4);
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * Queue a frame for the client and write as much of it as the socket takes now.
+     * An update arriving while the previous one is still on its way replaces it if none
+     * of it has been written yet, and is skipped otherwise.
+     */
+    private void send(Connection connection, ByteBuffer frame, boolean update) throws IOException {
+        if (connection.pending != null) {
+            updatesSkipped++;
+            if (!update || !connection.pendingReplaceable) {
+                return;
+            }
+        }
+        connection.pending = frame;
+        connection.pendingReplaceable = update;
+        flush(connection);
+    }
+    
+    private void flush(Connection connection) throws IOException {
+        ByteBuffer pending = connection.pending;
+        if (pending == null) {
+            connection.key.interestOps(SelectionKey.OP_READ);
+            return;
+        }
+        
+        bytesSent += connection.channel.write(pending);
+        if (pending.hasRemaining()) {
+            // Once part of a frame is out, the rest has to follow before anything else
+            connection.pendingReplaceable &= pending.position() == 0;
+            connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else {
+            if (pending.get(4) == NetProtocol.WORLD) {
+                updatesSent++;
+            }
+            connection.pending = null;
+            connection.key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+    
+    /**
+     * Visitor Pattern: writes one entity record per visible object
+     */
+    private static final class EntityWriter implements GameObjectVisitor {
+        ByteBuffer buffer;
+        Tank player;
+        int count;
+        
+        @Override
+        public void visit(Tank tank) {
+            write(tank, tank == player ? NetProtocol.KIND_PLAYER : NetProtocol.KIND_ENEMY, tank.getDirection());
+            buffer.put((byte) tank.getHealth());
+        }
+        
+        @Override
+        public void visit(Missile missile) {
+            write(missile, NetProtocol.KIND_MISSILE, missile.getDirection());
+        }
+        
+        @Override
+        public void visit(Wall wall) {
+            // Static; clients have them from the scenario
+        }
+        
+        @Override
+        public void visit(MedPack medPack) {
+            write(medPack, NetProtocol.KIND_MEDPACK, Direction.UP);
+        }
+        
+        @Override
+        public void visit(Explosion explosion) {
+            write(explosion, NetProtocol.KIND_EXPLOSION, Direction.UP);
+            buffer.put((byte) explosion.getCurrentFrame());
+        }
+        
+        private void write(GameObject obj, int kind, Direction direction) {
+            buffer.putInt(obj.getId());
+            buffer.put((byte) (kind << 2 | direction.ordinal()));
+            buffer.putShort(pixel(obj.getX()));
+            buffer.putShort(pixel(obj.getY()));
+            count++;
+        }
+        
+        private static short pixel(double value) {
+            return (short) Math.max(0, Math.min(0xffff, Math.round(value)));
+        }
+    }
+    
+    public int getTick() { return tick; }
+    public int getClientCount() { return connections.size(); }
+    public LatencyHistogram getTickTimes() { return tickTimes; }
+    public long getLateTicks() { return lateTicks; }
+    public long getBytesSent() { return bytesSent; }
+    public long getBytesReceived() { return bytesReceived; }
+    public long getUpdatesSent() { return updatesSent; }
+    public long getUpdatesSkipped() { return updatesSkipped; }
+}
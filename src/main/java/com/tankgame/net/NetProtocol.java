@@ -0,0 +1,66 @@
+package com.tankgame.net;
+
+import com.tankgame.core.PlayerCommand;
+
+/**
+ * Wire format between GameServer and its clients. All numbers are big-endian.
+ *
+ * Client to server: one byte per input, the command's ordinal with PRESSED set for a press.
+ *
+ * Server to client: frames of int length (of what follows), byte type, payload.
+ *   WELCOME: int magic, short version, int client id, short length + UTF-8 scenario name,
+ *            long seed, short ticks per second
+ *   WORLD:   int tick, int score, byte lives, byte game state, int player tank id,
+ *            int entity count, entities
+ * An entity is int id, byte kind << 2 | direction ordinal, unsigned short x, unsigned short y
+ * (whole pixels), then one more byte for tanks (health) and explosions (frame).
+ * Walls are never sent; clients build them from the scenario.
+ */
+public final class NetProtocol {
+    public static final int MAGIC = 0x544B4E54; // "TKNT"
+    public static final int VERSION = 1;
+    
+    public static final byte WELCOME = 1;
+    public static final byte WORLD = 2;
+    
+    public static final int PRESSED = 0x80;
+    
+    public static final int KIND_PLAYER = 0;
+    public static final int KIND_ENEMY = 1;
+    public static final int KIND_MISSILE = 2;
+    public static final int KIND_EXPLOSION = 3;
+    public static final int KIND_MEDPACK = 4;
+    
+    // Length, type and the fixed WORLD fields
+    public static final int WORLD_HEADER_BYTES = 4 + 1 + 4 + 4 + 1 + 1 + 4 + 4;
+    public static final int ENTITY_BYTES = 4 + 1 + 2 + 2;
+    public static final int MAX_ENTITY_BYTES = ENTITY_BYTES + 1;
+    
+    private static final PlayerCommand[] COMMANDS = PlayerCommand.values();
+    
+    private NetProtocol() {
+    }
+    
+    public static byte encodeInput(PlayerCommand command, boolean pressed) {
+        return (byte) (command.ordinal() | (pressed ? PRESSED : 0));
+    }
+    
+    /**
+     * The command of an input byte, or null for a byte no client should send
+     */
+    public static PlayerCommand decodeCommand(byte input) {
+        int ordinal = input & ~PRESSED & 0xff;
+        return ordinal < COMMANDS.length ? COMMANDS[ordinal] : null;
+    }
+    
+    public static boolean isPress(byte input) {
+        return (input & PRESSED) != 0;
+    }
+    
+    /**
+     * Size of an entity record of the given kind
+     */
+    public static int entityBytes(int kind) {
+        return kind == KIND_MISSILE || kind == KIND_MEDPACK ? ENTITY_BYTES : ENTITY_BYTES + 1;
+    }
+}
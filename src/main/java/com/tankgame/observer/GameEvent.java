@@ -9,6 +9,11 @@ public enum GameEvent {
     PLAYER_DESTROYED,
     MEDPACK_COLLECTED,
     GAME_WON,
-    GAME_LOST
+    GAME_LOST,
+    // HUD values; GameEventRecord.getValue() is the new value
+    SCORE_CHANGED,
+    LIVES_CHANGED,
+    ENEMY_COUNT_CHANGED,
+    PLAYER_HEALTH_CHANGED
 }
 
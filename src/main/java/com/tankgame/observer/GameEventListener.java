@@ -4,6 +4,8 @@ package com.tankgame.observer;
  * Observer Pattern: Interface for game event listeners
  */
 public interface GameEventListener {
-    void onGameEvent(GameEvent event, Object data);
+    /**
+     * The record is only valid for the duration of the call
+     */
+    void onGameEvent(GameEventRecord event);
 }
-
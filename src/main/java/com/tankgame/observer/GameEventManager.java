@@ -1,30 +1,251 @@
 package com.tankgame.observer;
 
-import java.util.ArrayList;
+import com.tankgame.model.GameObject;
+import com.tankgame.util.LatencyHistogram;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Observer Pattern: Manages game event notifications
+ * Events are written into a preallocated ring buffer of reusable records while the tick runs,
+ * and delivered afterwards: BATCHED listeners in one pass from dispatch() on the simulation
+ * thread, ASYNC listeners each from their own consumer thread, so a slow listener no longer
+ * stalls the tick. Every ASYNC listener has a ring of its own that publish copies into, so
+ * one that falls behind only holds up, or loses, its own events. Only the simulation thread
+ * may publish.
  */
 public class GameEventManager {
-    private List<GameEventListener> listeners;
+    public enum Delivery {
+        // In dispatch(), on the simulation thread after the tick
+        BATCHED,
+        // On a dedicated consumer thread
+        ASYNC
+    }
+    
+    /**
+     * What publish does when an ASYNC listener is a whole ring behind
+     */
+    public enum Backpressure {
+        // Lose the event for that listener and count it
+        DROP,
+        // Wait for the listener to catch up
+        BLOCK
+    }
+    
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final long IDLE_PARK_NANOS = 200_000;
+    private static final long BLOCKED_PARK_NANOS = 10_000;
+    
+    private final GameEventRecord[] ring;
+    private final int mask;
+    private final Backpressure backpressure;
+    // Last sequence whose record is completely written
+    private final AtomicLong published = new AtomicLong(-1);
+    // Last sequence handed to the batched listeners
+    private final AtomicLong batchedCursor = new AtomicLong(-1);
+    private final List<Subscriber> batched = new CopyOnWriteArrayList<>();
+    private final List<Subscriber> async = new CopyOnWriteArrayList<>();
     
     public GameEventManager() {
-        this.listeners = new ArrayList<>();
+        this(DEFAULT_CAPACITY, Backpressure.DROP);
+    }
+    
+    public GameEventManager(int capacity, Backpressure backpressure) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.ring = new GameEventRecord[capacity];
+        this.mask = capacity - 1;
+        this.backpressure = backpressure;
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new GameEventRecord();
+        }
     }
     
     public void addListener(GameEventListener listener) {
-        listeners.add(listener);
+        addListener(listener, Delivery.BATCHED);
+    }
+    
+    /**
+     * An ASYNC listener runs while the simulation keeps changing the objects its records name,
+     * so it may use getSubject() only to compare identity, never to read the object's state
+     */
+    public void addListener(GameEventListener listener, Delivery delivery) {
+        if (delivery == Delivery.BATCHED) {
+            batched.add(new Subscriber(listener, 0));
+            return;
+        }
+        // Starts with the next event published
+        Subscriber subscriber = new Subscriber(listener, ring.length);
+        async.add(subscriber);
+        Thread thread = new Thread(subscriber::consume, "event-listener-" + listener.getClass().getSimpleName());
+        thread.setDaemon(true);
+        subscriber.thread = thread;
+        thread.start();
     }
     
     public void removeListener(GameEventListener listener) {
-        listeners.remove(listener);
+        Subscriber subscriber = find(listener);
+        if (subscriber == null) {
+            return;
+        }
+        batched.remove(subscriber);
+        if (async.remove(subscriber)) {
+            subscriber.running = false;
+            LockSupport.unpark(subscriber.thread);
+        }
     }
     
-    public void notifyListeners(GameEvent event, Object data) {
-        for (GameEventListener listener : listeners) {
-            listener.onGameEvent(event, data);
+    /**
+     * Stop all consumer threads
+     */
+    public void shutdown() {
+        for (Subscriber subscriber : async) {
+            removeListener(subscriber.listener);
+        }
+    }
+    
+    public void publish(GameEvent type) {
+        publish(type, null, 0);
+    }
+    
+    public void publish(GameEvent type, GameObject subject) {
+        publish(type, subject, 0);
+    }
+    
+    public void publish(GameEvent type, int value) {
+        publish(type, null, value);
+    }
+    
+    private void publish(GameEvent type, GameObject subject, int value) {
+        long sequence = published.get() + 1;
+        if (batchedCursor.get() < sequence - ring.length) {
+            // A very busy tick: hand the batch over early rather than lose events
+            dispatch();
+        }
+        GameEventRecord record = ring[(int) (sequence & mask)];
+        record.set(type, subject, value, sequence, System.nanoTime());
+        published.set(sequence);
+        for (Subscriber subscriber : async) {
+            subscriber.offer(record);
+        }
+    }
+    
+    /**
+     * Deliver everything published since the last call to the BATCHED listeners, in order
+     */
+    public void dispatch() {
+        long available = published.get();
+        for (long sequence = batchedCursor.get() + 1; sequence <= available; sequence++) {
+            GameEventRecord record = ring[(int) (sequence & mask)];
+            for (Subscriber subscriber : batched) {
+                subscriber.deliver(record);
+            }
+        }
+        batchedCursor.set(available);
+    }
+    
+    private Subscriber find(GameEventListener listener) {
+        for (Subscriber subscriber : batched) {
+            if (subscriber.listener == listener) return subscriber;
+        }
+        for (Subscriber subscriber : async) {
+            if (subscriber.listener == listener) return subscriber;
+        }
+        return null;
+    }
+    
+    /**
+     * Nanoseconds from publish until the listener finished handling each event, or null for
+     * an unknown listener. Updated by the delivering thread, so reads from others are approximate.
+     */
+    public LatencyHistogram getLatency(GameEventListener listener) {
+        Subscriber subscriber = find(listener);
+        return subscriber != null ? subscriber.latency : null;
+    }
+    
+    /**
+     * Events lost because an ASYNC listener fell a whole ring behind (DROP policy only),
+     * summed over the listeners. Read it on the simulation thread.
+     */
+    public long getDroppedCount() {
+        long total = 0;
+        for (Subscriber subscriber : async) {
+            total += subscriber.dropped;
+        }
+        return total;
+    }
+    
+    /**
+     * Events published but not yet dispatched to the BATCHED listeners
+     */
+    public long getPendingCount() {
+        return published.get() - batchedCursor.get();
+    }
+    
+    private final class Subscriber {
+        final GameEventListener listener;
+        final LatencyHistogram latency = new LatencyHistogram();
+        // ASYNC only: copies of the events not yet handled, written by the simulation thread
+        final GameEventRecord[] queue;
+        // Last slot of the queue that is completely written
+        final AtomicLong written = new AtomicLong(-1);
+        // Last slot of the queue this listener has finished with
+        final AtomicLong cursor = new AtomicLong(-1);
+        // Written and read by the simulation thread only
+        long dropped;
+        volatile boolean running = true;
+        Thread thread;
+        
+        Subscriber(GameEventListener listener, int capacity) {
+            this.listener = listener;
+            this.queue = new GameEventRecord[capacity];
+            for (int i = 0; i < capacity; i++) {
+                queue[i] = new GameEventRecord();
+            }
+        }
+        
+        void deliver(GameEventRecord record) {
+            listener.onGameEvent(record);
+            latency.record(System.nanoTime() - record.getPublishedNanos());
+        }
+        
+        /**
+         * Queue a copy of the record; a full queue drops it or waits, as the policy says
+         */
+        void offer(GameEventRecord record) {
+            long slot = written.get() + 1;
+            while (slot - cursor.get() > queue.length) {
+                if (backpressure == Backpressure.DROP || !running) {
+                    dropped++;
+                    return;
+                }
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            }
+            queue[(int) (slot & mask)].copyFrom(record);
+            written.set(slot);
+        }
+        
+        void consume() {
+            long next = cursor.get() + 1;
+            while (running) {
+                long available = written.get();
+                if (available < next) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                for (; next <= available; next++) {
+                    try {
+                        deliver(queue[(int) (next & mask)]);
+                    } catch (RuntimeException e) {
+                        // Keep consuming; a dead consumer would hold the ring and stall the producer
+                        System.err.println("Event listener failed: " + e);
+                    }
+                }
+                cursor.set(available);
+            }
         }
     }
 }
-
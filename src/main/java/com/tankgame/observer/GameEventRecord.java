@@ -0,0 +1,44 @@
+package com.tankgame.observer;
+
+import com.tankgame.model.GameObject;
+
+/**
+ * One slot of the event ring buffer: the event type with a typed payload.
+ * Records are reused once every listener has seen them, so a listener must copy
+ * what it needs and not keep the record after onGameEvent returns.
+ */
+public final class GameEventRecord {
+    private GameEvent type;
+    private GameObject subject;
+    private int value;
+    private long sequence;
+    private long publishedNanos;
+    
+    void set(GameEvent type, GameObject subject, int value, long sequence, long publishedNanos) {
+        this.type = type;
+        this.subject = subject;
+        this.value = value;
+        this.sequence = sequence;
+        this.publishedNanos = publishedNanos;
+    }
+    
+    void copyFrom(GameEventRecord other) {
+        set(other.type, other.subject, other.value, other.sequence, other.publishedNanos);
+    }
+    
+    public GameEvent getType() { return type; }
+    
+    /**
+     * The object the event is about (the destroyed tank, the collected med pack), or null.
+     * It is the live object, owned by the simulation thread: ASYNC listeners must not read it.
+     */
+    public GameObject getSubject() { return subject; }
+    
+    /**
+     * The new value for the *_CHANGED events, 0 otherwise
+     */
+    public int getValue() { return value; }
+    
+    public long getSequence() { return sequence; }
+    public long getPublishedNanos() { return publishedNanos; }
+}
@@ -1,21 +1,28 @@
 package com.tankgame.strategy;
 
+import com.tankgame.core.FlowField;
 import com.tankgame.model.Direction;
 import com.tankgame.model.Tank;
 import com.tankgame.model.GameObject;
+import com.tankgame.util.SeededRandom;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Strategy Pattern: Aggressive AI that tries to move toward the player
- * Smooth movement with periodic recalculation
+ * Follows the engine's flow field around walls when there is one; otherwise
+ * smooth movement with periodic recalculation
  */
 public class AggressiveMovementStrategy implements MovementStrategy {
-    private Random random = new Random();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    
+    private final SeededRandom random;
     private Direction currentDirection;
     private int moveCounter = 0;
+    // Timers count ticks, however often the tank gets to decide
     private static final int RECALCULATE_INTERVAL = 90; // Recalculate every 1.5 seconds
-    private static final int MIN_DIRECTION_DURATION = 30; // Minimum frames before changing direction
+    private static final int MIN_DIRECTION_DURATION = 30; // Minimum ticks before changing direction
+    private static final int WANDER_INTERVAL = 180; // New random direction every 3 seconds without a player
     
     private double lastX = -1;
     private double lastY = -1;
@@ -27,6 +34,14 @@ public class AggressiveMovementStrategy implements MovementStrategy {
     private int breakoutCounter = 0;
     
     public AggressiveMovementStrategy() {
+        this(new SeededRandom());
+    }
+    
+    /**
+     * @param random source of all of this strategy's choices; seed it for reproducible matches
+     */
+    public AggressiveMovementStrategy(SeededRandom random) {
+        this.random = random;
         // Start facing down (toward player spawn area)
         currentDirection = Direction.DOWN;
         lastDirection = Direction.DOWN;
@@ -34,18 +49,29 @@ public class AggressiveMovementStrategy implements MovementStrategy {
     
     @Override
     public Direction getNextMove(Tank tank, List<GameObject> obstacles, Tank playerTank) {
+        return getNextMove(tank, obstacles, playerTank, null);
+    }
+    
+    @Override
+    public Direction getNextMove(Tank tank, List<GameObject> obstacles, Tank playerTank, FlowField flowField) {
+        return getNextMove(tank, obstacles, playerTank, flowField, 1);
+    }
+    
+    @Override
+    public Direction getNextMove(Tank tank, List<GameObject> obstacles, Tank playerTank, FlowField flowField,
+                                 int ticks) {
         // Breakout logic
         if (breakoutCounter > 0) {
-            breakoutCounter--;
+            breakoutCounter -= ticks;
             return currentDirection;
         }
         
         if (playerTank == null || !playerTank.isActive()) {
-            // Random movement if no player
-            if (moveCounter % 180 == 0) {
+            // Random movement if no player, whenever the counter passes a multiple of the interval
+            if (moveCounter % WANDER_INTERVAL < ticks) {
                 currentDirection = Direction.values()[random.nextInt(4)];
             }
-            moveCounter++;
+            moveCounter += ticks;
             return currentDirection;
         }
         
@@ -57,9 +83,9 @@ public class AggressiveMovementStrategy implements MovementStrategy {
             boolean notMoving = Math.abs(currentX - lastX) < 0.1 && Math.abs(currentY - lastY) < 0.1;
             
             if (notMoving) {
-                stuckCounter++;
+                stuckCounter += ticks;
                 
-                // INSTANT: After just 3 frames, change direction!
+                // INSTANT: After just 3 ticks, change direction!
                 if (stuckCounter >= 3) {
                     Direction previousDir = currentDirection;
                     
@@ -108,7 +134,20 @@ public class AggressiveMovementStrategy implements MovementStrategy {
         lastX = currentX;
         lastY = currentY;
         
-        moveCounter++;
+        moveCounter += ticks;
+        
+        // Path around walls; a tank held up by another tank uses the stuck handling above instead
+        if (flowField != null && stuckCounter == 0) {
+            Direction pathDirection = flowField.steer(tank, currentDirection);
+            if (pathDirection != null) {
+                if (pathDirection != currentDirection) {
+                    lastDirection = currentDirection;
+                    currentDirection = pathDirection;
+                }
+                moveCounter = 0;
+                return currentDirection;
+            }
+        }
         
         // Realistic movement: Only recalculate if enough time has passed
         if (moveCounter >= RECALCULATE_INTERVAL && moveCounter >= MIN_DIRECTION_DURATION) {
@@ -150,5 +189,30 @@ public class AggressiveMovementStrategy implements MovementStrategy {
         
         return currentDirection;
     }
+    
+    @Override
+    public void saveState(ByteBuffer buffer) {
+        buffer.putLong(random.getState());
+        buffer.put((byte) currentDirection.ordinal());
+        buffer.put((byte) lastDirection.ordinal());
+        buffer.putInt(moveCounter);
+        buffer.putDouble(lastX);
+        buffer.putDouble(lastY);
+        buffer.putInt(stuckCounter);
+        buffer.putInt(directionFlipCounter);
+        buffer.putInt(breakoutCounter);
+    }
+    
+    @Override
+    public void loadState(ByteBuffer buffer) {
+        random.setState(buffer.getLong());
+        currentDirection = DIRECTIONS[buffer.get()];
+        lastDirection = DIRECTIONS[buffer.get()];
+        moveCounter = buffer.getInt();
+        lastX = buffer.getDouble();
+        lastY = buffer.getDouble();
+        stuckCounter = buffer.getInt();
+        directionFlipCounter = buffer.getInt();
+        breakoutCounter = buffer.getInt();
+    }
 }
-
@@ -1,14 +1,49 @@
 package com.tankgame.strategy;
 
+import com.tankgame.core.FlowField;
 import com.tankgame.model.Direction;
 import com.tankgame.model.Tank;
 import com.tankgame.model.GameObject;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
  * Strategy Pattern: Interface for different tank movement behaviors
  */
 public interface MovementStrategy {
+    // Room each strategy gets in a world snapshot
+    int SNAPSHOT_STATE_BYTES = 64;
+    
     Direction getNextMove(Tank tank, List<GameObject> obstacles, Tank playerTank);
+    
+    /**
+     * Same decision with the engine's shared flow field toward the player available
+     * (null when there is none). Strategies that don't path-find keep this default.
+     */
+    default Direction getNextMove(Tank tank, List<GameObject> obstacles, Tank playerTank, FlowField flowField) {
+        return getNextMove(tank, obstacles, playerTank);
+    }
+    
+    /**
+     * Decision that stands for the given number of ticks: the engine lets far tanks decide only
+     * every few ticks, so strategies with timers advance them by that much per decision.
+     */
+    default Direction getNextMove(Tank tank, List<GameObject> obstacles, Tank playerTank, FlowField flowField,
+                                  int ticks) {
+        return getNextMove(tank, obstacles, playerTank, flowField);
+    }
+    
+    /**
+     * Write the decision state (counters, current direction, random state) for a world snapshot,
+     * at most SNAPSHOT_STATE_BYTES bytes. Stateless strategies write nothing.
+     */
+    default void saveState(ByteBuffer buffer) {
+    }
+    
+    /**
+     * Read back what saveState wrote
+     */
+    default void loadState(ByteBuffer buffer) {
+    }
 }
 
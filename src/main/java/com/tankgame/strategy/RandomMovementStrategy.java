@@ -1,26 +1,32 @@
 package com.tankgame.strategy;
 
+import com.tankgame.core.FlowField;
 import com.tankgame.model.Direction;
 import com.tankgame.model.Tank;
 import com.tankgame.model.GameObject;
+import com.tankgame.util.SeededRandom;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Strategy Pattern: Random movement AI for enemy tanks
  * NEVER gets stuck - aggressive detection and instant direction changes
  */
 public class RandomMovementStrategy implements MovementStrategy {
-    private Random random = new Random();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    
+    private final SeededRandom random;
     private Direction currentDirection;
     private int moveCounter = 0;
+    // Timers count ticks, however often the tank gets to decide
     private static final int MIN_MOVE_DURATION = 180; // 3 seconds minimum in one direction
     private static final int MAX_MOVE_DURATION = 300; // 5 seconds maximum
+    private static final double TURN_CHANCE_PER_TICK = 0.02;
     
     private double lastX = -1;
     private double lastY = -1;
     private int stuckCounter = 0;
-    private int consecutiveStuckFrames = 0;
+    private int consecutiveStuckTicks = 0;
     
     // Oscillation detection
     private Direction lastDirection;
@@ -28,6 +34,14 @@ public class RandomMovementStrategy implements MovementStrategy {
     private int breakoutCounter = 0;
     
     public RandomMovementStrategy() {
+        this(new SeededRandom());
+    }
+    
+    /**
+     * @param random source of all of this strategy's choices; seed it for reproducible matches
+     */
+    public RandomMovementStrategy(SeededRandom random) {
+        this.random = random;
         // Start with random direction
         currentDirection = Direction.values()[random.nextInt(4)];
         lastDirection = currentDirection;
@@ -35,9 +49,15 @@ public class RandomMovementStrategy implements MovementStrategy {
     
     @Override
     public Direction getNextMove(Tank tank, List<GameObject> obstacles, Tank playerTank) {
+        return getNextMove(tank, obstacles, playerTank, null, 1);
+    }
+    
+    @Override
+    public Direction getNextMove(Tank tank, List<GameObject> obstacles, Tank playerTank, FlowField flowField,
+                                 int ticks) {
         // If breaking out of a loop, continue perpendicular move for a while
         if (breakoutCounter > 0) {
-            breakoutCounter--;
+            breakoutCounter -= ticks;
             return currentDirection;
         }
         
@@ -49,11 +69,11 @@ public class RandomMovementStrategy implements MovementStrategy {
             boolean notMoving = Math.abs(currentX - lastX) < 0.1 && Math.abs(currentY - lastY) < 0.1;
             
             if (notMoving) {
-                consecutiveStuckFrames++;
-                stuckCounter++;
+                consecutiveStuckTicks += ticks;
+                stuckCounter += ticks;
                 
-                // INSTANT RESPONSE: After just 3 frames of not moving
-                if (consecutiveStuckFrames >= 3) {
+                // INSTANT RESPONSE: After just 3 ticks of not moving
+                if (consecutiveStuckTicks >= 3) {
                     Direction previousDir = currentDirection;
                     
                     // Cycle through all 4 directions if needed
@@ -93,12 +113,12 @@ public class RandomMovementStrategy implements MovementStrategy {
                         directionFlipCounter = 0;
                     }
                     
-                    consecutiveStuckFrames = 0;
+                    consecutiveStuckTicks = 0;
                     moveCounter = 0;
                 }
             } else {
                 // Tank is moving! Reset counters
-                consecutiveStuckFrames = 0;
+                consecutiveStuckTicks = 0;
                 stuckCounter = 0;
             }
         }
@@ -106,11 +126,11 @@ public class RandomMovementStrategy implements MovementStrategy {
         lastX = currentX;
         lastY = currentY;
         
-        moveCounter++;
+        moveCounter += ticks;
         
         // Realistic movement: Change direction after moving successfully for a while
-        if (consecutiveStuckFrames == 0 && moveCounter >= MIN_MOVE_DURATION) {
-            if (moveCounter >= MAX_MOVE_DURATION || random.nextDouble() < 0.02) { // Lower random chance
+        if (consecutiveStuckTicks == 0 && moveCounter >= MIN_MOVE_DURATION) {
+            if (moveCounter >= MAX_MOVE_DURATION || random.nextDouble() < TURN_CHANCE_PER_TICK * ticks) {
                 lastDirection = currentDirection;
                 
                 // Prefer turning 90 degrees (natural turn) over 180 (flip)
@@ -131,5 +151,32 @@ public class RandomMovementStrategy implements MovementStrategy {
         
         return currentDirection;
     }
+    
+    @Override
+    public void saveState(ByteBuffer buffer) {
+        buffer.putLong(random.getState());
+        buffer.put((byte) currentDirection.ordinal());
+        buffer.put((byte) lastDirection.ordinal());
+        buffer.putInt(moveCounter);
+        buffer.putDouble(lastX);
+        buffer.putDouble(lastY);
+        buffer.putInt(stuckCounter);
+        buffer.putInt(directionFlipCounter);
+        buffer.putInt(breakoutCounter);
+        buffer.putInt(consecutiveStuckTicks);
+    }
+    
+    @Override
+    public void loadState(ByteBuffer buffer) {
+        random.setState(buffer.getLong());
+        currentDirection = DIRECTIONS[buffer.get()];
+        lastDirection = DIRECTIONS[buffer.get()];
+        moveCounter = buffer.getInt();
+        lastX = buffer.getDouble();
+        lastY = buffer.getDouble();
+        stuckCounter = buffer.getInt();
+        directionFlipCounter = buffer.getInt();
+        breakoutCounter = buffer.getInt();
+        consecutiveStuckTicks = buffer.getInt();
+    }
 }
-
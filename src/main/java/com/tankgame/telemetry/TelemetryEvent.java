@@ -0,0 +1,26 @@
+package com.tankgame.telemetry;
+
+/**
+ * Kinds of telemetry records. Hot-path code only stores the kind and up to two numbers;
+ * the message is formatted later on the writer thread.
+ */
+public enum TelemetryEvent {
+    ENEMY_DESTROYED("Enemy destroyed"),
+    PLAYER_DESTROYED("Player destroyed"),
+    MEDPACK_COLLECTED("Med pack collected, health %d -> %d"),
+    MEDPACKS_RESPAWNED("Med packs respawned, count %d"),
+    MAP_FULL("Map is full: spawned %d of %d enemies"),
+    GAME_WON("Game won"),
+    GAME_LOST("Game lost");
+    
+    private final String format;
+    
+    TelemetryEvent(String format) {
+        this.format = format;
+    }
+    
+    String format(long first, long second) {
+        // Unused arguments are ignored by String.format
+        return String.format(format, first, second);
+    }
+}
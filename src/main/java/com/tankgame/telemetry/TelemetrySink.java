@@ -0,0 +1,241 @@
+package com.tankgame.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Singleton Pattern: Non-blocking telemetry log for the game.
+ * record() stores a timestamp, an event kind and two numbers into a preallocated ring and
+ * returns; it never formats, allocates, locks or waits, and drops the record when the ring
+ * is full. A background thread drains the ring, formats the lines and writes them to
+ * rotating files (telemetry.log, telemetry.1.log, ...) under -Dtankgame.telemetry.dir (logs).
+ * Any thread may record. The instance is only created for whoever asks for it, which is the
+ * game window; headless engines record into disabled(), which keeps nothing.
+ */
+public class TelemetrySink {
+    private static final int CAPACITY = 8192;
+    private static final long MAX_FILE_BYTES = 1024 * 1024;
+    private static final int MAX_ROTATED_FILES = 5;
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final TelemetryEvent[] EVENTS = TelemetryEvent.values();
+    
+    private static final TelemetrySink DISABLED = new TelemetrySink(null);
+    private static TelemetrySink instance;
+    
+    // Per slot: the sequence it holds once completely written, then its fields
+    private final AtomicLongArray slotSequences = new AtomicLongArray(CAPACITY);
+    private final long[] timestamps = new long[CAPACITY];
+    private final int[] events = new int[CAPACITY];
+    private final long[] firstValues = new long[CAPACITY];
+    private final long[] secondValues = new long[CAPACITY];
+    private final int mask = CAPACITY - 1;
+    
+    // Next sequence to claim, and next sequence the writer will read
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long written;
+    private volatile boolean running;
+    
+    private final Path directory;
+    private final Thread writerThread;
+    private BufferedWriter writer;
+    private long fileBytes;
+    private long droppedReported;
+    
+    private TelemetrySink(Path directory) {
+        this.directory = directory;
+        if (directory == null) {
+            writerThread = null;
+            return;
+        }
+        running = true;
+        for (int i = 0; i < CAPACITY; i++) {
+            slotSequences.set(i, -1);
+        }
+        writerThread = new Thread(this::drainLoop, "telemetry-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        // Whatever is still queued at exit gets written
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "telemetry-flush"));
+    }
+    
+    public static synchronized TelemetrySink getInstance() {
+        if (instance == null) {
+            instance = new TelemetrySink(Paths.get(System.getProperty("tankgame.telemetry.dir", "logs")));
+        }
+        return instance;
+    }
+    
+    /**
+     * A sink that drops every record without counting it, and has no writer thread or files
+     */
+    public static TelemetrySink disabled() {
+        return DISABLED;
+    }
+    
+    public void record(TelemetryEvent event) {
+        record(event, 0, 0);
+    }
+    
+    public void record(TelemetryEvent event, long first) {
+        record(event, first, 0);
+    }
+    
+    public void record(TelemetryEvent event, long first, long second) {
+        if (writerThread == null) {
+            return;
+        }
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail.get() >= CAPACITY) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        
+        int slot = (int) (sequence & mask);
+        timestamps[slot] = System.currentTimeMillis();
+        events[slot] = event.ordinal();
+        firstValues[slot] = first;
+        secondValues[slot] = second;
+        // Publishes the fields above to the writer thread
+        slotSequences.set(slot, sequence);
+    }
+    
+    /**
+     * Records lost because the writer fell a whole ring behind
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    public long getWrittenCount() {
+        return written;
+    }
+    
+    /**
+     * Stop the writer thread after writing out everything recorded so far
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void drainLoop() {
+        StringBuilder lines = new StringBuilder();
+        while (true) {
+            boolean stopping = !running;
+            int count = drain(lines);
+            if (count > 0 || lines.length() > 0) {
+                write(lines);
+            } else if (stopping) {
+                break;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        closeWriter();
+    }
+    
+    /**
+     * Format all completely written records into lines, freeing their slots
+     */
+    private int drain(StringBuilder lines) {
+        int count = 0;
+        long sequence = tail.get();
+        while (slotSequences.get((int) (sequence & mask)) == sequence) {
+            int slot = (int) (sequence & mask);
+            lines.append(TIME_FORMAT.format(Instant.ofEpochMilli(timestamps[slot])))
+                 .append(' ').append(EVENTS[events[slot]])
+                 .append(' ').append(EVENTS[events[slot]].format(firstValues[slot], secondValues[slot]))
+                 .append('\n');
+            sequence++;
+            tail.set(sequence);
+            count++;
+        }
+        
+        long droppedNow = dropped.get();
+        if (droppedNow != droppedReported) {
+            lines.append(TIME_FORMAT.format(Instant.now())).append(" TELEMETRY ")
+                 .append(droppedNow - droppedReported).append(" records dropped\n");
+            droppedReported = droppedNow;
+        }
+        written += count;
+        return count;
+    }
+    
+    private void write(StringBuilder lines) {
+        // The lines are plain ASCII, so characters count as bytes
+        String text = lines.toString();
+        lines.setLength(0);
+        try {
+            if (writer == null || fileBytes + text.length() > MAX_FILE_BYTES) {
+                rotate();
+            }
+            writer.write(text);
+            writer.flush();
+            fileBytes += text.length();
+        } catch (IOException e) {
+            // Telemetry must never take the game down; keep draining so producers don't stall
+            System.err.println("Telemetry write failed: " + e.getMessage());
+            closeWriter();
+        }
+    }
+    
+    private void rotate() throws IOException {
+        closeWriter();
+        Files.createDirectories(directory);
+        Path current = directory.resolve("telemetry.log");
+        if (Files.exists(current) && Files.size(current) > 0) {
+            // telemetry.log -> telemetry.1.log -> ... -> dropped after MAX_ROTATED_FILES
+            Files.deleteIfExists(rotated(MAX_ROTATED_FILES));
+            for (int i = MAX_ROTATED_FILES - 1; i >= 1; i--) {
+                if (Files.exists(rotated(i))) {
+                    Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(current, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        writer = Files.newBufferedWriter(current, StandardCharsets.UTF_8);
+        fileBytes = 0;
+    }
+    
+    private Path rotated(int index) {
+        return directory.resolve("telemetry." + index + ".log");
+    }
+    
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Telemetry close failed: " + e.getMessage());
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.tankgame.ui;
+
+import com.tankgame.model.GameObject;
+
+/**
+ * Viewport onto the map that keeps a target centered, stopping at the map edges.
+ * Offsets are whole pixels so cached layers and sprites stay crisp while scrolling.
+ */
+public class Camera {
+    private final double width;
+    private final double height;
+    private double x;
+    private double y;
+    
+    public Camera(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+    
+    /**
+     * Center on the target as it will be drawn this frame
+     */
+    public void follow(GameObject target, double alpha, double mapWidth, double mapHeight) {
+        double centerX = target.getInterpolatedX(alpha) + target.getWidth() / 2;
+        double centerY = target.getInterpolatedY(alpha) + target.getHeight() / 2;
+        x = Math.round(clamp(centerX - width / 2, mapWidth - width));
+        y = Math.round(clamp(centerY - height / 2, mapHeight - height));
+    }
+    
+    private static double clamp(double value, double max) {
+        // Maps smaller than the viewport stay pinned to the top-left corner
+        return Math.max(0, Math.min(value, max));
+    }
+    
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getWidth() { return width; }
+    public double getHeight() { return height; }
+}
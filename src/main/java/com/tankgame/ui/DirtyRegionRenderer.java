@@ -0,0 +1,323 @@
+package com.tankgame.ui;
+
+import javafx.scene.canvas.GraphicsContext;
+import com.tankgame.core.GameEngine;
+import com.tankgame.model.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental canvas renderer: remembers where each object was drawn last frame and only
+ * repaints the rectangles that changed, restoring them from the cached static layer first.
+ * Falls back to a full repaint when the dirty area gets large or the camera scrolled, so the
+ * per-frame fill cost follows how much moved rather than the canvas size.
+ * Only objects the spatial grid reports under the viewport are looked at, so frame time
+ * doesn't grow with the population of the rest of the map.
+ * Works in map coordinates; the canvas is translated by the camera offset while drawing.
+ */
+public class DirtyRegionRenderer {
+    // Above this share of the canvas, one full blit is cheaper than many clipped ones
+    private static final double FULL_REPAINT_RATIO = 0.4;
+    private static final int MAX_DIRTY_RECTS = 64;
+    // Health bars, med pack glow and "+HP" text are drawn outside the object bounds
+    private static final double PAD_SIDE = 10;
+    private static final double PAD_TOP = 20;
+    private static final double PAD_BOTTOM = 10;
+    // Draw order: pickups under tanks, missiles and explosions on top
+    private static final Comparator<GameObject> LAYER_ORDER = Comparator.comparingInt(DirtyRegionRenderer::layerOf);
+    
+    /**
+     * Where an object was drawn and a key for anything else that changes its look
+     */
+    private static final class Footprint {
+        double x, y, width, height;
+        long stateKey;
+        long frame;
+    }
+    
+    private final GameRenderer renderer;
+    private final StaticLayerCache staticLayer;
+    private final Map<GameObject, Footprint> footprints = new IdentityHashMap<>();
+    private final FootprintVisitor footprintVisitor = new FootprintVisitor();
+    private final List<GameObject> visible = new ArrayList<>();
+    
+    // Dirty rectangles of the current frame, stored flat to avoid per-frame allocation
+    private double[] rects = new double[MAX_DIRTY_RECTS * 4];
+    private int rectCount;
+    private boolean overflow;
+    private boolean fullRepaintRequested = true;
+    private long frame;
+    private double lastCameraX = Double.NaN;
+    private double lastCameraY = Double.NaN;
+    
+    private double lastRepaintedRatio;
+    
+    public DirtyRegionRenderer(GameRenderer renderer, StaticLayerCache staticLayer) {
+        this.renderer = renderer;
+        this.staticLayer = staticLayer;
+    }
+    
+    /**
+     * Repaint everything next frame, e.g. after an overlay covering the map went away
+     */
+    public void requestFullRepaint() {
+        fullRepaintRequested = true;
+    }
+    
+    /**
+     * Add a map-space rectangle drawn over by someone else, such as a debug overlay
+     */
+    public void markDirty(double x, double y, double width, double height) {
+        addRect(x, y, width, height);
+    }
+    
+    public void render(GraphicsContext gc, GameEngine gameEngine, Camera camera, double alpha) {
+        frame++;
+        double viewX = camera.getX();
+        double viewY = camera.getY();
+        double viewWidth = camera.getWidth();
+        double viewHeight = camera.getHeight();
+        
+        // Everything whose drawing (bounds plus padding) can reach into the viewport
+        gameEngine.queryObjects(viewX - PAD_SIDE, viewY - PAD_BOTTOM,
+            viewWidth + PAD_SIDE * 2, viewHeight + PAD_TOP + PAD_BOTTOM, visible);
+        visible.sort(LAYER_ORDER);
+        
+        trackFootprints(visible, alpha);
+        
+        // Scrolling moves every pixel on the canvas
+        boolean scrolled = viewX != lastCameraX || viewY != lastCameraY;
+        lastCameraX = viewX;
+        lastCameraY = viewY;
+        
+        boolean full = fullRepaintRequested || overflow || scrolled || staticLayer.ensureCurrent(gameEngine);
+        if (!full) {
+            mergeRects();
+            full = dirtyArea() > viewWidth * viewHeight * FULL_REPAINT_RATIO;
+        }
+        
+        gc.save();
+        gc.translate(-viewX, -viewY);
+        if (full) {
+            staticLayer.drawRegion(gc, gameEngine, viewX, viewY, viewWidth, viewHeight);
+            for (GameObject obj : visible) {
+                if (obj.isActive()) {
+                    renderer.render(obj);
+                }
+            }
+            lastRepaintedRatio = 1.0;
+        } else {
+            double repainted = 0;
+            for (int r = 0; r < rectCount; r++) {
+                // Only the part inside the viewport
+                double x = Math.max(viewX, rects[r * 4]);
+                double y = Math.max(viewY, rects[r * 4 + 1]);
+                double width = Math.min(viewX + viewWidth, rects[r * 4] + rects[r * 4 + 2]) - x;
+                double height = Math.min(viewY + viewHeight, rects[r * 4 + 1] + rects[r * 4 + 3]) - y;
+                if (width > 0 && height > 0) {
+                    repaintRect(gc, gameEngine, x, y, width, height);
+                    repainted += width * height;
+                }
+            }
+            lastRepaintedRatio = repainted / (viewWidth * viewHeight);
+        }
+        gc.restore();
+        
+        rectCount = 0;
+        overflow = false;
+        fullRepaintRequested = false;
+    }
+    
+    /**
+     * Share of the canvas repainted in the last frame, 1.0 for a full repaint
+     */
+    public double getLastRepaintedRatio() {
+        return lastRepaintedRatio;
+    }
+    
+    private void trackFootprints(List<GameObject> objects, double alpha) {
+        footprintVisitor.alpha = alpha;
+        
+        for (GameObject obj : objects) {
+            if (!obj.isActive()) {
+                continue;
+            }
+            obj.accept(footprintVisitor);
+            
+            Footprint footprint = footprints.get(obj);
+            if (footprint == null) {
+                footprint = new Footprint();
+                footprints.put(obj, footprint);
+                addPadded(footprintVisitor.x, footprintVisitor.y, footprintVisitor.width, footprintVisitor.height);
+            } else if (footprint.x != footprintVisitor.x || footprint.y != footprintVisitor.y ||
+                       footprint.width != footprintVisitor.width || footprint.height != footprintVisitor.height ||
+                       footprint.stateKey != footprintVisitor.stateKey) {
+                // Erase the old position and draw the new one; usually they overlap into one rect
+                double minX = Math.min(footprint.x, footprintVisitor.x);
+                double minY = Math.min(footprint.y, footprintVisitor.y);
+                double maxX = Math.max(footprint.x + footprint.width, footprintVisitor.x + footprintVisitor.width);
+                double maxY = Math.max(footprint.y + footprint.height, footprintVisitor.y + footprintVisitor.height);
+                addPadded(minX, minY, maxX - minX, maxY - minY);
+            }
+            
+            footprint.x = footprintVisitor.x;
+            footprint.y = footprintVisitor.y;
+            footprint.width = footprintVisitor.width;
+            footprint.height = footprintVisitor.height;
+            footprint.stateKey = footprintVisitor.stateKey;
+            footprint.frame = frame;
+        }
+        
+        // Objects not seen this frame left the game: erase where they were
+        Iterator<Footprint> iterator = footprints.values().iterator();
+        while (iterator.hasNext()) {
+            Footprint footprint = iterator.next();
+            if (footprint.frame != frame) {
+                addPadded(footprint.x, footprint.y, footprint.width, footprint.height);
+                iterator.remove();
+            }
+        }
+    }
+    
+    private void repaintRect(GraphicsContext gc, GameEngine gameEngine,
+                             double x, double y, double width, double height) {
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        gc.clip();
+        
+        staticLayer.drawRegion(gc, gameEngine, x, y, width, height);
+        
+        // Redraw everything reaching into the rect, moving or not, in layer order
+        for (GameObject obj : visible) {
+            if (!obj.isActive()) {
+                continue;
+            }
+            Footprint footprint = footprints.get(obj);
+            if (footprint.x - PAD_SIDE < x + width && footprint.x + footprint.width + PAD_SIDE > x &&
+                footprint.y - PAD_TOP < y + height && footprint.y + footprint.height + PAD_BOTTOM > y) {
+                renderer.render(obj);
+            }
+        }
+        
+        gc.restore();
+    }
+    
+    private void addPadded(double x, double y, double width, double height) {
+        addRect(x - PAD_SIDE, y - PAD_TOP, width + PAD_SIDE * 2, height + PAD_TOP + PAD_BOTTOM);
+    }
+    
+    private void addRect(double x, double y, double width, double height) {
+        if (rectCount == MAX_DIRTY_RECTS) {
+            overflow = true;
+            return;
+        }
+        // Snap outwards to whole pixels so anti-aliased edges don't leave seams
+        double minX = Math.floor(x);
+        double minY = Math.floor(y);
+        int i = rectCount * 4;
+        rects[i] = minX;
+        rects[i + 1] = minY;
+        rects[i + 2] = Math.ceil(x + width) - minX;
+        rects[i + 3] = Math.ceil(y + height) - minY;
+        rectCount++;
+    }
+    
+    /**
+     * Replace overlapping rectangles by their bounding box until none overlap
+     */
+    private void mergeRects() {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int a = 0; a < rectCount && !merged; a++) {
+                for (int b = a + 1; b < rectCount; b++) {
+                    int i = a * 4;
+                    int j = b * 4;
+                    if (rects[i] <= rects[j] + rects[j + 2] && rects[j] <= rects[i] + rects[i + 2] &&
+                        rects[i + 1] <= rects[j + 1] + rects[j + 3] && rects[j + 1] <= rects[i + 1] + rects[i + 3]) {
+                        double minX = Math.min(rects[i], rects[j]);
+                        double minY = Math.min(rects[i + 1], rects[j + 1]);
+                        rects[i + 2] = Math.max(rects[i] + rects[i + 2], rects[j] + rects[j + 2]) - minX;
+                        rects[i + 3] = Math.max(rects[i + 1] + rects[i + 3], rects[j + 1] + rects[j + 3]) - minY;
+                        rects[i] = minX;
+                        rects[i + 1] = minY;
+                        
+                        // Swap-remove b
+                        rectCount--;
+                        System.arraycopy(rects, rectCount * 4, rects, j, 4);
+                        merged = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+    
+    private static int layerOf(GameObject obj) {
+        if (obj instanceof MedPack) return 0;
+        if (obj instanceof Tank) return 1;
+        if (obj instanceof Missile) return 2;
+        return 3;
+    }
+    
+    private double dirtyArea() {
+        double area = 0;
+        for (int r = 0; r < rectCount; r++) {
+            area += rects[r * 4 + 2] * rects[r * 4 + 3];
+        }
+        return area;
+    }
+    
+    /**
+     * Drawn bounds and look of each object type, matching what GameRenderer draws
+     */
+    private static final class FootprintVisitor implements GameObjectVisitor {
+        double alpha;
+        double x, y, width, height;
+        long stateKey;
+        
+        private void setBounds(double x, double y, double width, double height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+        
+        @Override
+        public void visit(Tank tank) {
+            setBounds(tank.getInterpolatedX(alpha), tank.getInterpolatedY(alpha), tank.getWidth(), tank.getHeight());
+            stateKey = tank.getDirection().ordinal() * 1000L + tank.getHealth();
+        }
+        
+        @Override
+        public void visit(Missile missile) {
+            setBounds(missile.getInterpolatedX(alpha), missile.getInterpolatedY(alpha),
+                missile.getWidth(), missile.getHeight());
+            stateKey = missile.getDirection().ordinal();
+        }
+        
+        @Override
+        public void visit(Wall wall) {
+            setBounds(wall.getX(), wall.getY(), wall.getWidth(), wall.getHeight());
+            stateKey = 0;
+        }
+        
+        @Override
+        public void visit(MedPack medPack) {
+            setBounds(medPack.getX(), medPack.getY(), medPack.getWidth(), medPack.getHeight());
+            // Pulses through a fixed set of frames; only a new frame needs a repaint
+            stateKey = GameRenderer.getMedPackFrame(medPack);
+        }
+        
+        @Override
+        public void visit(Explosion explosion) {
+            setBounds(explosion.getX(), explosion.getY(), explosion.getWidth(), explosion.getHeight());
+            stateKey = explosion.getCurrentFrame();
+        }
+    }
+}
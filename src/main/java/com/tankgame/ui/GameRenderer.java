@@ -0,0 +1,209 @@
+package com.tankgame.ui;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import com.tankgame.model.*;
+import com.tankgame.util.ProceduralSprite;
+import com.tankgame.util.ResourceManager;
+import com.tankgame.util.Sprite;
+
+/**
+ * Visitor Pattern: Draws game objects onto the canvas, keeping JavaFX out of the model
+ */
+public class GameRenderer implements GameObjectVisitor {
+    private static final int MEDPACK_PULSE_FRAMES = 32;
+    private static final Font LABEL_FONT = Font.font("Arial", FontWeight.BOLD, 12);
+    // Built on first use, on the FX thread
+    private static ProceduralSprite medPackPulse;
+    
+    private final GraphicsContext gc;
+    private double alpha = 1.0;
+    
+    public GameRenderer(GraphicsContext gc) {
+        this.gc = gc;
+    }
+    
+    /**
+     * Set how far between the previous and current simulation step moving objects are drawn
+     */
+    public void setInterpolation(double alpha) {
+        this.alpha = alpha;
+    }
+    
+    public void render(GameObject obj) {
+        obj.accept(this);
+    }
+    
+    @Override
+    public void visit(Tank tank) {
+        double x = tank.getInterpolatedX(alpha);
+        double y = tank.getInterpolatedY(alpha);
+        
+        // Pre-scaled and already tinted blue (player) or red (enemy) in the atlas
+        Sprite tankSprite = ResourceManager.getInstance().getTankSprite(tank.getDirection(), tank.isPlayer());
+        if (tankSprite != null) {
+            tankSprite.draw(gc, x, y);
+        }
+        
+        // Draw health bar above tank
+        if (tank.isPlayer() || tank.getHealth() < tank.getMaxHealth()) {
+            drawHealthBar(tank, x, y);
+        }
+    }
+    
+    private void drawHealthBar(Tank tank, double x, double y) {
+        double barWidth = tank.getWidth();
+        double barHeight = 5;
+        double barX = x;
+        double barY = y - 10;
+        
+        // Background (red)
+        gc.setFill(Color.RED);
+        gc.fillRect(barX, barY, barWidth, barHeight);
+        
+        // Health (green)
+        gc.setFill(Color.LIME);
+        double healthWidth = barWidth * (tank.getHealth() / (double) tank.getMaxHealth());
+        gc.fillRect(barX, barY, healthWidth, barHeight);
+        
+        // Border
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.strokeRect(barX, barY, barWidth, barHeight);
+    }
+    
+    @Override
+    public void visit(Missile missile) {
+        Sprite missileSprite = ResourceManager.getInstance().getMissileSprite(missile.getDirection());
+        if (missileSprite != null) {
+            missileSprite.draw(gc, missile.getInterpolatedX(alpha), missile.getInterpolatedY(alpha));
+        }
+    }
+    
+    @Override
+    public void visit(Wall wall) {
+        double x = wall.getX();
+        double y = wall.getY();
+        double width = wall.getWidth();
+        double height = wall.getHeight();
+        
+        // Realistic concrete bunker wall
+        // Base concrete color
+        gc.setFill(Color.rgb(110, 105, 100));
+        gc.fillRect(x, y, width, height);
+        
+        // Add concrete texture with cracks
+        gc.setFill(Color.rgb(95, 90, 85));
+        gc.fillRect(x + 5, y + 5, width - 10, 3);
+        gc.fillRect(x + 3, y + height/2, width - 6, 2);
+        
+        // Weathering and dirt
+        gc.setFill(Color.rgb(80, 75, 70));
+        gc.fillRect(x + 2, y + height - 8, width - 4, 6);
+        
+        // 3D lighting effect - top highlight
+        gc.setFill(Color.rgb(140, 135, 130, 0.7));
+        gc.fillRect(x, y, width, 4);
+        gc.fillRect(x, y, 4, height);
+        
+        // 3D shadow - bottom and right
+        gc.setFill(Color.rgb(50, 45, 40, 0.8));
+        gc.fillRect(x, y + height - 4, width, 4);
+        gc.fillRect(x + width - 4, y, 4, height);
+        
+        // Rivets/bolts for military feel
+        gc.setFill(Color.rgb(70, 65, 60));
+        double rivetSize = 4;
+        gc.fillOval(x + 5, y + 5, rivetSize, rivetSize);
+        gc.fillOval(x + width - 9, y + 5, rivetSize, rivetSize);
+        gc.fillOval(x + 5, y + height - 9, rivetSize, rivetSize);
+        gc.fillOval(x + width - 9, y + height - 9, rivetSize, rivetSize);
+        
+        // Border
+        gc.setStroke(Color.rgb(60, 55, 50));
+        gc.setLineWidth(2);
+        gc.strokeRect(x, y, width, height);
+    }
+    
+    @Override
+    public void visit(MedPack medPack) {
+        getMedPackPulse().draw(gc, medPack.getX(), medPack.getY(), getPulsePhase(medPack));
+    }
+    
+    /**
+     * Pulse frame a med pack is drawn with; it only looks different when this changes
+     */
+    static int getMedPackFrame(MedPack medPack) {
+        return getMedPackPulse().frameFor(getPulsePhase(medPack));
+    }
+    
+    private static double getPulsePhase(MedPack medPack) {
+        // The pulse timer is in radians, one cycle per 2 pi
+        return medPack.getPulseTimer() / (2 * Math.PI);
+    }
+    
+    private static ProceduralSprite getMedPackPulse() {
+        if (medPackPulse == null) {
+            // Room for the glow on the sides and the "+HP" label above
+            medPackPulse = new ProceduralSprite(MEDPACK_PULSE_FRAMES, -10, -20,
+                MedPack.MEDPACK_SIZE + 20, MedPack.MEDPACK_SIZE + 30, GameRenderer::paintMedPack);
+        }
+        return medPackPulse;
+    }
+    
+    private static void paintMedPack(GraphicsContext gc, double phase) {
+        double size = MedPack.MEDPACK_SIZE;
+        
+        // Simple, clean pulsing effect
+        double scale = 1.0 + Math.sin(phase * 2 * Math.PI) * 0.12;
+        double scaledSize = size * scale;
+        double offset = (size - scaledSize) / 2;
+        
+        double center = size / 2;
+        
+        // Soft glowing circle background
+        gc.setFill(Color.rgb(255, 100, 100, 0.4));
+        gc.fillOval(-8, -8, size + 16, size + 16);
+        
+        // Main circle background (clean white)
+        gc.setFill(Color.WHITE);
+        gc.fillOval(offset, offset, scaledSize, scaledSize);
+        
+        // Red cross (simple and clean)
+        gc.setFill(Color.rgb(220, 50, 50));
+        double crossThickness = scaledSize * 0.25;
+        double crossLength = scaledSize * 0.65;
+        
+        // Horizontal bar
+        gc.fillRoundRect(center - crossLength / 2, center - crossThickness / 2,
+                   crossLength, crossThickness, 3, 3);
+        // Vertical bar
+        gc.fillRoundRect(center - crossThickness / 2, center - crossLength / 2,
+                   crossThickness, crossLength, 3, 3);
+        
+        // Clean border
+        gc.setStroke(Color.rgb(220, 50, 50));
+        gc.setLineWidth(2.5);
+        gc.strokeOval(offset, offset, scaledSize, scaledSize);
+        
+        // Simple "+HP" label above
+        gc.setFill(Color.WHITE);
+        gc.setFont(LABEL_FONT);
+        gc.setStroke(Color.rgb(220, 50, 50));
+        gc.setLineWidth(2);
+        gc.strokeText("+HP", 3, -5);
+        gc.fillText("+HP", 3, -5);
+    }
+    
+    @Override
+    public void visit(Explosion explosion) {
+        if (explosion.getCurrentFrame() < explosion.getTotalFrames()) {
+            Sprite explosionSprite = ResourceManager.getInstance().getExplosionSprite(explosion.getCurrentFrame());
+            if (explosionSprite != null) {
+                explosionSprite.draw(gc, explosion.getX(), explosion.getY());
+            }
+        }
+    }
+}
@@ -10,20 +10,30 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import com.tankgame.core.GameEngine;
-import com.tankgame.model.Tank;
+import com.tankgame.observer.GameEvent;
+import com.tankgame.observer.GameEventListener;
+import com.tankgame.observer.GameEventRecord;
 
 /**
  * Game UI components (HUD)
+ * Observer Pattern: labels and the health bar change only when the engine reports a new
+ * value, so an idle HUD costs the FX thread no text, CSS or layout work.
  */
-public class GameUI {
+public class GameUI implements GameEventListener {
+    private static final String HEALTH_GREEN = "-fx-accent: #27ae60;";
+    private static final String HEALTH_ORANGE = "-fx-accent: #f39c12;";
+    private static final String HEALTH_RED = "-fx-accent: #e74c3c;";
+    
     private GameEngine gameEngine;
     private Label scoreLabel;
     private Label livesLabel;
     private Label enemiesLabel;
     private ProgressBar healthBar;
+    private String healthBarStyle;
     
     public GameUI(GameEngine gameEngine) {
         this.gameEngine = gameEngine;
+        gameEngine.getEventManager().addListener(this);
     }
     
     public VBox createTopPanel() {
@@ -43,9 +53,9 @@ public class GameUI {
         HBox topRow = new HBox(50);
         topRow.setAlignment(Pos.CENTER);
         
-        scoreLabel = createMilitaryLabel("⭐ SCORE: 0");
+        scoreLabel = createMilitaryLabel("⭐ SCORE: " + gameEngine.getScore());
         livesLabel = createMilitaryLabel("❤️ LIVES: " + gameEngine.getLives());
-        enemiesLabel = createMilitaryLabel("🎯 ENEMIES: " + gameEngine.getEnemyTanks().size());
+        enemiesLabel = createMilitaryLabel("🎯 ENEMIES: " + gameEngine.getActiveEnemyCount());
         
         topRow.getChildren().addAll(scoreLabel, livesLabel, enemiesLabel);
         
@@ -65,6 +75,8 @@ public class GameUI {
             "-fx-border-width: 2px;"
         );
         
+        showHealth(gameEngine.getPlayerTank().getHealth());
+        
         bottomRow.getChildren().addAll(healthLabel, healthBar);
         
         panel.getChildren().addAll(topRow, bottomRow);
@@ -86,32 +98,46 @@ public class GameUI {
         return label;
     }
     
-    public void update() {
-        scoreLabel.setText("⭐ SCORE: " + gameEngine.getScore());
-        livesLabel.setText("❤️ LIVES: " + gameEngine.getLives());
-        
-        // Count active enemies
-        long activeEnemies = gameEngine.getEnemyTanks().stream()
-            .filter(Tank::isActive)
-            .count();
-        enemiesLabel.setText("🎯 ENEMIES: " + activeEnemies);
+    @Override
+    public void onGameEvent(GameEventRecord event) {
+        // Delivered in the batch after each tick, on the FX thread that runs the engine
+        if (scoreLabel == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case SCORE_CHANGED:
+                scoreLabel.setText("⭐ SCORE: " + event.getValue());
+                break;
+            case LIVES_CHANGED:
+                livesLabel.setText("❤️ LIVES: " + event.getValue());
+                break;
+            case ENEMY_COUNT_CHANGED:
+                enemiesLabel.setText("🎯 ENEMIES: " + event.getValue());
+                break;
+            case PLAYER_HEALTH_CHANGED:
+                showHealth(event.getValue());
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private void showHealth(int health) {
+        double healthPercent = health / 100.0;
+        healthBar.setProgress(healthPercent);
         
-        // Update health bar
-        if (gameEngine.getPlayerTank() != null && gameEngine.getPlayerTank().isActive()) {
-            double healthPercent = gameEngine.getPlayerTank().getHealth() / 100.0;
-            healthBar.setProgress(healthPercent);
-            
-            // Change color based on health
-            if (healthPercent > 0.6) {
-                healthBar.setStyle("-fx-accent: #27ae60;"); // Green
-            } else if (healthPercent > 0.3) {
-                healthBar.setStyle("-fx-accent: #f39c12;"); // Orange
-            } else {
-                healthBar.setStyle("-fx-accent: #e74c3c;"); // Red
-            }
+        // Change color based on health; a new style means CSS work, so only when the band changes
+        String style;
+        if (healthPercent > 0.6) {
+            style = HEALTH_GREEN;
+        } else if (healthPercent > 0.3) {
+            style = HEALTH_ORANGE;
         } else {
-            healthBar.setProgress(0);
+            style = HEALTH_RED;
+        }
+        if (!style.equals(healthBarStyle)) {
+            healthBar.setStyle(style);
+            healthBarStyle = style;
         }
     }
 }
-
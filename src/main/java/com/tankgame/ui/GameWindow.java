@@ -1,19 +1,37 @@
 package com.tankgame.ui;
 
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import com.tankgame.core.FixedTimestepLoop;
 import com.tankgame.core.GameEngine;
-import com.tankgame.model.GameObject;
-import com.tankgame.observer.GameEvent;
+import com.tankgame.core.InputRecorder;
+import com.tankgame.core.PlayerCommand;
+import com.tankgame.core.Scenario;
+import com.tankgame.core.TickProfiler;
+import com.tankgame.core.WorldSnapshot;
+import com.tankgame.observer.GameEventRecord;
 import com.tankgame.observer.GameEventListener;
+import com.tankgame.telemetry.TelemetryEvent;
+import com.tankgame.telemetry.TelemetrySink;
+import com.tankgame.util.ResourceManager;
+import com.tankgame.util.StartupTimeline;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main game window with JavaFX rendering
@@ -21,26 +39,63 @@ import com.tankgame.observer.GameEventListener;
 public class GameWindow implements GameEventListener {
     private static final double WINDOW_WIDTH = 1000;
     private static final double WINDOW_HEIGHT = 900;
+    private static final double VIEWPORT_HEIGHT = 800;
+    private static final String TITLE = "Tank War Game";
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    private static final long STATS_INTERVAL_NANOS = 1_000_000_000L;
+    // Overlays are redrawn every frame while shown, so fonts are resolved once
+    private static final Font TITLE_FONT = Font.font("Arial", FontWeight.BOLD, 70);
+    private static final Font PAUSE_FONT = Font.font("Arial", FontWeight.BOLD, 60);
+    private static final Font SCORE_FONT = Font.font("Arial", FontWeight.BOLD, 30);
+    private static final Font HINT_FONT = Font.font("Arial", FontWeight.NORMAL, 20);
     
     private Stage stage;
     private Canvas canvas;
     private GraphicsContext gc;
     private GameEngine gameEngine;
     private GameUI gameUI;
+    private GameRenderer renderer;
+    private ProfilerOverlay profilerOverlay;
+    private StaticLayerCache staticLayer;
+    private DirtyRegionRenderer dirtyRenderer;
+    private Camera camera;
+    private GameEngine.GameState lastRenderedState;
+    private double repaintedRatioSum;
+    private boolean showProfiler;
+    private boolean firstFrameShown;
+    private final Set<KeyCode> pressedKeys = new HashSet<>();
+    private final TelemetrySink telemetry = TelemetrySink.getInstance();
+    private FixedTimestepLoop loop;
+    private InputRecorder inputRecorder;
+    private long lastStatsTime = -1;
     
     public void start(Stage primaryStage) {
         this.stage = primaryStage;
-        this.gameEngine = GameEngine.getInstance();
+        StartupTimeline.mark("toolkit ready");
+        // Images decode in the background while the window comes up
+        CompletableFuture<ResourceManager> resources = ResourceManager.load();
+        // Larger maps can be tried with e.g. -Dtankgame.scenario=stress-1k; -Dtankgame.seed replays a known match
+        this.gameEngine = new GameEngine(Scenario.byName(System.getProperty("tankgame.scenario", "classic")),
+            Long.getLong("tankgame.seed", System.nanoTime()), telemetry);
+        // Opt-in, since a recording costs a file per session and a checksum every few ticks
+        if (Boolean.getBoolean("tankgame.record")) {
+            startRecording();
+        }
         
-        // Register as event listener
+        // Register as event listener; recording telemetry never blocks, so the batch after the tick will do
         gameEngine.getEventManager().addListener(this);
         
         // Setup UI
         BorderPane root = new BorderPane();
         
-        // Game canvas
-        canvas = new Canvas(WINDOW_WIDTH, gameEngine.getMapHeight());
+        // Game canvas: a fixed viewport that scrolls over maps of any size
+        canvas = new Canvas(WINDOW_WIDTH, VIEWPORT_HEIGHT);
         gc = canvas.getGraphicsContext2D();
+        camera = new Camera(WINDOW_WIDTH, VIEWPORT_HEIGHT);
+        renderer = new GameRenderer(gc);
+        staticLayer = new StaticLayerCache();
+        dirtyRenderer = new DirtyRegionRenderer(renderer, staticLayer);
+        profilerOverlay = new ProfilerOverlay(gameEngine);
         
         // Game UI (HUD)
         gameUI = new GameUI(gameEngine);
@@ -58,67 +113,268 @@ public class GameWindow implements GameEventListener {
         
         // Input handling on both scene and canvas
         scene.setOnKeyPressed(e -> {
-            gameEngine.keyPressed(e.getCode());
+            keyPressed(e.getCode());
             e.consume();
         });
         scene.setOnKeyReleased(e -> {
-            gameEngine.keyReleased(e.getCode());
+            keyReleased(e.getCode());
             e.consume();
         });
         
         canvas.setOnKeyPressed(e -> {
-            gameEngine.keyPressed(e.getCode());
+            keyPressed(e.getCode());
             e.consume();
         });
         canvas.setOnKeyReleased(e -> {
-            gameEngine.keyReleased(e.getCode());
+            keyReleased(e.getCode());
             e.consume();
         });
         
         // Setup stage
-        stage.setTitle("Tank War Game");
+        stage.setTitle(TITLE);
         stage.setScene(scene);
         stage.setResizable(false);
         stage.setOnCloseRequest(e -> {
+            stopRecording();
             System.exit(0);
         });
         stage.show();
         
         // Request focus for keyboard input
         canvas.requestFocus();
+        StartupTimeline.mark("window shown");
+        drawLoadingScreen();
+        
+        // Start game loop once the sprites are there to draw
+        resources.whenCompleteAsync((loaded, error) -> {
+            if (error != null) {
+                System.err.println("Could not load game assets: " + error.getMessage());
+                return;
+            }
+            StartupTimeline.mark("assets ready");
+            startGameLoop();
+        }, Platform::runLater);
+    }
+    
+    private void drawLoadingScreen() {
+        gc.setFill(Color.BLACK);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        gc.setFill(Color.WHITE);
+        gc.setFont(HINT_FONT);
+        gc.fillText("Loading...", canvas.getWidth() / 2 - 40, canvas.getHeight() / 2);
+    }
+    
+    /**
+     * Record the session so it can be re-simulated with ReplayRunner, e.g. to reproduce a bug report
+     */
+    private void startRecording() {
+        Path file = Paths.get(System.getProperty("tankgame.replay.dir", "replays"),
+            "session-" + System.currentTimeMillis() + ".replay");
+        try {
+            inputRecorder = new InputRecorder(file, gameEngine, GameEngine.FIXED_TIMESTEP);
+            gameEngine.setInputRecorder(inputRecorder);
+            System.out.println("Recording session (seed " + gameEngine.getSeed() + ") to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not record session: " + e.getMessage());
+        }
+    }
+    
+    private void stopRecording() {
+        if (inputRecorder == null) {
+            return;
+        }
+        gameEngine.setInputRecorder(null);
+        try {
+            inputRecorder.close();
+        } catch (IOException e) {
+            System.err.println("Could not finish session recording: " + e.getMessage());
+        }
+        inputRecorder = null;
+    }
+    
+    private static Path quickSaveFile() {
+        return Paths.get(System.getProperty("tankgame.save.dir", "saves"), "quicksave.snap");
+    }
+    
+    private void quickSave() {
+        Path file = quickSaveFile();
+        try {
+            Files.createDirectories(file.getParent());
+            long size = WorldSnapshot.save(gameEngine, file);
+            System.out.println("Saved " + size + " bytes to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not save game: " + e.getMessage());
+        }
+    }
+    
+    private void quickLoad() {
+        Path file = quickSaveFile();
+        if (!Files.exists(file)) {
+            return;
+        }
+        // The replay can't express a jump to another state, so the recording ends here
+        stopRecording();
+        try {
+            WorldSnapshot.load(gameEngine, file);
+            dirtyRenderer.requestFullRepaint();
+            System.out.println("Loaded " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not load game: " + e.getMessage());
+        }
+    }
+    
+    private void keyPressed(KeyCode code) {
+        pressedKeys.add(code);
         
-        // Start game loop
-        startGameLoop();
+        // Debug keys stay in the window; they are not game commands
+        if (code == KeyCode.F3) {
+            showProfiler = !showProfiler;
+            gameEngine.getProfiler().setEnabled(showProfiler);
+            dirtyRenderer.requestFullRepaint();
+            return;
+        }
+        if (code == KeyCode.F4) {
+            dumpProfile();
+            return;
+        }
+        if (code == KeyCode.F5) {
+            quickSave();
+            return;
+        }
+        if (code == KeyCode.F9) {
+            quickLoad();
+            return;
+        }
+        
+        PlayerCommand command = toCommand(code);
+        if (command != null) {
+            gameEngine.commandPressed(command);
+        }
+    }
+    
+    private void keyReleased(KeyCode code) {
+        pressedKeys.remove(code);
+        PlayerCommand command = toCommand(code);
+        if (command == null) {
+            return;
+        }
+        
+        // Keep the command active while another key bound to it (e.g. W and UP) is still held
+        for (KeyCode held : pressedKeys) {
+            if (toCommand(held) == command) {
+                return;
+            }
+        }
+        gameEngine.commandReleased(command);
+    }
+    
+    private static PlayerCommand toCommand(KeyCode code) {
+        switch (code) {
+            case UP:
+            case W:
+                return PlayerCommand.MOVE_UP;
+            case DOWN:
+            case S:
+                return PlayerCommand.MOVE_DOWN;
+            case LEFT:
+            case A:
+                return PlayerCommand.MOVE_LEFT;
+            case RIGHT:
+            case D:
+                return PlayerCommand.MOVE_RIGHT;
+            case SPACE:
+                return PlayerCommand.FIRE;
+            case ESCAPE:
+                return PlayerCommand.PAUSE;
+            case R:
+                return PlayerCommand.RESTART;
+            default:
+                return null;
+        }
     }
     
     private void startGameLoop() {
+        loop = new FixedTimestepLoop(GameEngine.FIXED_TIMESTEP, MAX_STEPS_PER_FRAME);
+        
         AnimationTimer gameLoop = new AnimationTimer() {
             @Override
             public void handle(long now) {
-                gameEngine.update();
-                render();
-                gameUI.update();
+                // Run as many fixed steps as the elapsed time calls for, independent of refresh rate
+                int steps = loop.advance(now);
+                for (int i = 0; i < steps; i++) {
+                    // Exactly FIXED_TIMESTEP, the step length the session recording declares
+                    gameEngine.update();
+                }
+                
+                // Nothing moves while paused or after the match, so draw the settled positions
+                double alpha = gameEngine.getGameState() == GameEngine.GameState.PLAYING ? loop.getAlpha() : 1.0;
+                long renderStart = gameEngine.getProfiler().begin();
+                render(alpha);
+                gameEngine.getProfiler().lap(TickProfiler.Phase.RENDER, renderStart);
+                if (showProfiler) {
+                    profilerOverlay.draw(gc, now);
+                }
+                reportLoopStats(now);
+                
+                if (!firstFrameShown) {
+                    firstFrameShown = true;
+                    StartupTimeline.mark("first frame");
+                    StartupTimeline.log();
+                }
             }
         };
         gameLoop.start();
     }
     
-    private void render() {
-        // Clear canvas with realistic battlefield background
-        drawBackground();
+    private void dumpProfile() {
+        Path file = Paths.get("tick-profile-" + System.currentTimeMillis() + ".txt");
+        try {
+            gameEngine.getProfiler().dump(file);
+            System.out.println("Tick profile written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write tick profile: " + e.getMessage());
+        }
+    }
+    
+    private void reportLoopStats(long now) {
+        if (lastStatsTime < 0) {
+            lastStatsTime = now;
+        }
+        if (now - lastStatsTime >= STATS_INTERVAL_NANOS) {
+            double seconds = (now - lastStatsTime) / 1_000_000_000.0;
+            stage.setTitle(String.format("%s - %.0f FPS, %.2f steps/frame, %.0f%% repainted",
+                TITLE, loop.getTotalFrames() / seconds, loop.getAverageStepsPerFrame(),
+                100 * repaintedRatioSum / Math.max(1, loop.getTotalFrames())));
+            loop.resetStats();
+            repaintedRatioSum = 0;
+            lastStatsTime = now;
+        }
+    }
+    
+    private void render(double alpha) {
+        renderer.setInterpolation(alpha);
+        
+        // State overlays are translucent and cover the whole map, so they need a clean
+        // canvas under them every frame, and once more when they go away
+        GameEngine.GameState state = gameEngine.getGameState();
+        if (state != GameEngine.GameState.PLAYING || state != lastRenderedState) {
+            dirtyRenderer.requestFullRepaint();
+        }
+        lastRenderedState = state;
         
-        // Draw grid pattern (subtle)
-        drawGrid();
+        camera.follow(gameEngine.getPlayerTank(), alpha, gameEngine.getMapWidth(), gameEngine.getMapHeight());
         
-        // Render all game objects
-        for (GameObject obj : gameEngine.getAllObjects()) {
-            if (obj.isActive()) {
-                obj.render(gc);
-            }
+        // The profiler overlay is redrawn on top every frame, at a fixed spot on screen
+        if (showProfiler) {
+            dirtyRenderer.markDirty(camera.getX(), camera.getY(), profilerOverlay.getWidth(), profilerOverlay.getHeight());
         }
         
+        // Only the regions that changed since the last frame, over the cached background and walls
+        dirtyRenderer.render(gc, gameEngine, camera, alpha);
+        repaintedRatioSum += dirtyRenderer.getLastRepaintedRatio();
+        
         // Draw overlays based on game state
-        switch (gameEngine.getGameState()) {
+        switch (state) {
             case PAUSED:
                 drawPauseOverlay();
                 break;
@@ -131,53 +387,15 @@ public class GameWindow implements GameEventListener {
         }
     }
     
-    private void drawBackground() {
-        // Realistic battlefield ground texture
-        gc.setFill(Color.rgb(60, 70, 50)); // Dark olive green
-        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-        
-        // Add texture with random dirt patches
-        gc.setFill(Color.rgb(50, 60, 45));
-        for (int i = 0; i < 50; i++) {
-            double x = (i * 137) % canvas.getWidth();
-            double y = (i * 193) % canvas.getHeight();
-            gc.fillOval(x, y, 20, 15);
-        }
-        
-        // Darker patches for depth
-        gc.setFill(Color.rgb(45, 55, 40));
-        for (int i = 0; i < 30; i++) {
-            double x = (i * 211) % canvas.getWidth();
-            double y = (i * 157) % canvas.getHeight();
-            gc.fillRect(x, y, 30, 25);
-        }
-    }
-    
-    private void drawGrid() {
-        // Subtle grid for tactical feel
-        gc.setStroke(Color.rgb(70, 80, 55, 0.3)); // Semi-transparent
-        gc.setLineWidth(0.5);
-        
-        // Vertical lines
-        for (int x = 0; x < canvas.getWidth(); x += 50) {
-            gc.strokeLine(x, 0, x, canvas.getHeight());
-        }
-        
-        // Horizontal lines
-        for (int y = 0; y < canvas.getHeight(); y += 50) {
-            gc.strokeLine(0, y, canvas.getWidth(), y);
-        }
-    }
-    
     private void drawPauseOverlay() {
         gc.setFill(Color.rgb(0, 0, 0, 0.7));
         gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
         
         gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 60));
+        gc.setFont(PAUSE_FONT);
         gc.fillText("PAUSED", canvas.getWidth() / 2 - 120, canvas.getHeight() / 2);
         
-        gc.setFont(Font.font("Arial", FontWeight.NORMAL, 20));
+        gc.setFont(HINT_FONT);
         gc.fillText("Press ESC to resume", canvas.getWidth() / 2 - 100, canvas.getHeight() / 2 + 50);
     }
     
@@ -186,14 +404,14 @@ public class GameWindow implements GameEventListener {
         gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
         
         gc.setFill(Color.YELLOW);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 70));
+        gc.setFont(TITLE_FONT);
         gc.fillText("VICTORY!", canvas.getWidth() / 2 - 150, canvas.getHeight() / 2 - 50);
         
         gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 30));
+        gc.setFont(SCORE_FONT);
         gc.fillText("Score: " + gameEngine.getScore(), canvas.getWidth() / 2 - 70, canvas.getHeight() / 2 + 20);
         
-        gc.setFont(Font.font("Arial", FontWeight.NORMAL, 20));
+        gc.setFont(HINT_FONT);
         gc.fillText("Press R to restart", canvas.getWidth() / 2 - 90, canvas.getHeight() / 2 + 70);
     }
     
@@ -202,35 +420,35 @@ public class GameWindow implements GameEventListener {
         gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
         
         gc.setFill(Color.RED);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 70));
+        gc.setFont(TITLE_FONT);
         gc.fillText("GAME OVER", canvas.getWidth() / 2 - 200, canvas.getHeight() / 2 - 50);
         
         gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 30));
+        gc.setFont(SCORE_FONT);
         gc.fillText("Score: " + gameEngine.getScore(), canvas.getWidth() / 2 - 70, canvas.getHeight() / 2 + 20);
         
-        gc.setFont(Font.font("Arial", FontWeight.NORMAL, 20));
+        gc.setFont(HINT_FONT);
         gc.fillText("Press R to restart", canvas.getWidth() / 2 - 90, canvas.getHeight() / 2 + 70);
     }
     
     @Override
-    public void onGameEvent(GameEvent event, Object data) {
+    public void onGameEvent(GameEventRecord event) {
         // Handle game events (could add sound effects here)
-        switch (event) {
+        switch (event.getType()) {
             case ENEMY_DESTROYED:
-                System.out.println("Enemy destroyed!");
+                telemetry.record(TelemetryEvent.ENEMY_DESTROYED);
                 break;
             case PLAYER_DESTROYED:
-                System.out.println("Player destroyed!");
-                break;
-            case MEDPACK_COLLECTED:
-                System.out.println("Med pack collected!");
+                telemetry.record(TelemetryEvent.PLAYER_DESTROYED);
                 break;
             case GAME_WON:
-                System.out.println("Game won!");
+                telemetry.record(TelemetryEvent.GAME_WON);
                 break;
             case GAME_LOST:
-                System.out.println("Game lost!");
+                telemetry.record(TelemetryEvent.GAME_LOST);
+                break;
+            default:
+                // Med pack pickups are recorded by the engine, with the health change
                 break;
         }
     }
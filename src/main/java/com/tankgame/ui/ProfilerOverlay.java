@@ -0,0 +1,92 @@
+package com.tankgame.ui;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import com.tankgame.core.AiScheduler;
+import com.tankgame.core.GameEngine;
+import com.tankgame.core.LineOfSight;
+import com.tankgame.core.TickProfiler;
+import com.tankgame.util.LatencyHistogram;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Debug overlay with per-phase p50/p99/max, entity counts and allocations per tick.
+ * The text is rebuilt a few times a second rather than every frame, so the overlay
+ * itself barely shows up in the numbers it reports.
+ */
+public class ProfilerOverlay {
+    private static final long REFRESH_INTERVAL_NANOS = 500_000_000L;
+    private static final Font FONT = Font.font("Monospaced", 12);
+    private static final double LINE_HEIGHT = 15;
+    private static final double PADDING = 8;
+    private static final double PANEL_WIDTH = 480;
+    
+    private final GameEngine gameEngine;
+    private final List<String> lines = new ArrayList<>();
+    private long lastRefresh = -1;
+    
+    public ProfilerOverlay(GameEngine gameEngine) {
+        this.gameEngine = gameEngine;
+    }
+    
+    public void draw(GraphicsContext gc, long now) {
+        if (lastRefresh < 0 || now - lastRefresh >= REFRESH_INTERVAL_NANOS) {
+            refresh();
+            lastRefresh = now;
+        }
+        
+        gc.setFill(Color.rgb(0, 0, 0, 0.75));
+        gc.fillRect(0, 0, getWidth(), getHeight());
+        
+        gc.setFill(Color.LIME);
+        gc.setFont(FONT);
+        for (int i = 0; i < lines.size(); i++) {
+            gc.fillText(lines.get(i), PADDING, PADDING + (i + 1) * LINE_HEIGHT - 3);
+        }
+    }
+    
+    public double getWidth() {
+        return PANEL_WIDTH;
+    }
+    
+    public double getHeight() {
+        return lines.size() * LINE_HEIGHT + PADDING * 2;
+    }
+    
+    private void refresh() {
+        TickProfiler profiler = gameEngine.getProfiler();
+        lines.clear();
+        lines.add(String.format("%-16s %9s %9s %9s", "phase (us)", "p50", "p99", "max"));
+        for (TickProfiler.Phase phase : TickProfiler.Phase.values()) {
+            LatencyHistogram histogram = profiler.getHistogram(phase);
+            lines.add(String.format("%-16s %9.1f %9.1f %9.1f", phase,
+                histogram.getPercentile(50) / 1000.0, histogram.getPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0));
+        }
+        
+        lines.add(String.format("objects %d  enemies %d  missiles %d  explosions %d  medpacks %d",
+            gameEngine.getAllObjects().size(), gameEngine.getActiveEnemyCount(), gameEngine.getMissileCount(),
+            gameEngine.getExplosionCount(), gameEngine.getMedPackCount()));
+        
+        AiScheduler ai = gameEngine.getAiScheduler();
+        lines.add(String.format("ai decisions %d  deferred %d  avg %.0f ns  overruns %d (budget %d us)",
+            ai.getLastDecisionCount(), ai.getLastDeferralCount(), ai.getAverageDecisionNanos(),
+            ai.getOverrunCount(), ai.getBudgetNanos() / 1000));
+        
+        LineOfSight lineOfSight = gameEngine.getLineOfSight();
+        lines.add(String.format("line of sight rays %d  raster %d  exact %d",
+            lineOfSight.getRayCount(), lineOfSight.getRasterAnswers(), lineOfSight.getExactTests()));
+        
+        lines.add(String.format("events dropped %d  telemetry dropped %d",
+            gameEngine.getEventManager().getDroppedCount(), gameEngine.getTelemetrySink().getDroppedCount()));
+        
+        if (profiler.isAllocationTrackingSupported()) {
+            LatencyHistogram allocated = profiler.getAllocatedBytes();
+            lines.add(String.format("alloc/tick  p50 %d B  p99 %d B  max %d B",
+                allocated.getPercentile(50), allocated.getPercentile(99), allocated.getMax()));
+        }
+        lines.add("F3 hide  F4 dump to file");
+    }
+}
@@ -0,0 +1,174 @@
+package com.tankgame.ui;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import com.tankgame.core.GameEngine;
+import com.tankgame.core.Scenario;
+import com.tankgame.model.GameObject;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Battlefield ground, grid and walls rendered once into offscreen image tiles.
+ * Nothing in these layers changes during a match, so each frame only blits the tiles
+ * under the viewport. Tiles are built on first sight and the least recently used ones
+ * are dropped, so maps of any size cost a bounded amount of memory.
+ * The tiles are rebuilt when the scenario (and with it map and walls) changes;
+ * a restart rebuilds the same walls from the same scenario, so it keeps the cache.
+ */
+public class StaticLayerCache {
+    private static final int TILE_SIZE = 512;
+    // Enough for a 1000x800 viewport plus a ring of recently left tiles
+    private static final int MAX_TILES = 32;
+    // Ground patches per tile, matching the density the classic 1000x800 map used to have
+    private static final int DIRT_PATCHES = 50 * TILE_SIZE * TILE_SIZE / (1000 * 800);
+    private static final int DARK_PATCHES = 30 * TILE_SIZE * TILE_SIZE / (1000 * 800);
+    private static final int GRID_SPACING = 50;
+    
+    private final Map<Long, WritableImage> tiles = new LinkedHashMap<>(MAX_TILES * 2, 0.75f, true);
+    private final Canvas offscreen = new Canvas(TILE_SIZE, TILE_SIZE);
+    private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+    private final List<GameObject> tileWalls = new ArrayList<>();
+    private Scenario cachedScenario;
+    private int rebuildCount;
+    
+    public StaticLayerCache() {
+        snapshotParameters.setFill(Color.TRANSPARENT);
+    }
+    
+    /**
+     * Drop all tiles if the scenario changed; true when the cache was invalidated
+     */
+    public boolean ensureCurrent(GameEngine gameEngine) {
+        if (cachedScenario != gameEngine.getScenario()) {
+            tiles.clear();
+            cachedScenario = gameEngine.getScenario();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Blit the part of the layer under a map-space rectangle. The graphics context is
+     * expected to be translated to map space by the caller.
+     */
+    public void drawRegion(GraphicsContext gc, GameEngine gameEngine,
+                           double x, double y, double width, double height) {
+        ensureCurrent(gameEngine);
+        
+        int minCol = (int) Math.floor(x / TILE_SIZE);
+        int minRow = (int) Math.floor(y / TILE_SIZE);
+        int maxCol = (int) Math.floor((x + width - 1) / TILE_SIZE);
+        int maxRow = (int) Math.floor((y + height - 1) / TILE_SIZE);
+        
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                WritableImage tile = getTile(gameEngine, col, row);
+                double tileX = col * TILE_SIZE;
+                double tileY = row * TILE_SIZE;
+                
+                // Only the overlap of the region and this tile
+                double sx = Math.max(x, tileX);
+                double sy = Math.max(y, tileY);
+                double sw = Math.min(x + width, tileX + TILE_SIZE) - sx;
+                double sh = Math.min(y + height, tileY + TILE_SIZE) - sy;
+                gc.drawImage(tile, sx - tileX, sy - tileY, sw, sh, sx, sy, sw, sh);
+            }
+        }
+    }
+    
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+    
+    private WritableImage getTile(GameEngine gameEngine, int col, int row) {
+        long key = ((long) col << 32) | (row & 0xffffffffL);
+        WritableImage tile = tiles.get(key);
+        if (tile == null) {
+            tile = buildTile(gameEngine, col, row, evictTile());
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+    
+    /**
+     * Remove the least recently used tile once the cache is full and hand back its image for reuse
+     */
+    private WritableImage evictTile() {
+        if (tiles.size() < MAX_TILES) {
+            return null;
+        }
+        Iterator<WritableImage> eldest = tiles.values().iterator();
+        WritableImage image = eldest.next();
+        eldest.remove();
+        return image;
+    }
+    
+    private WritableImage buildTile(GameEngine gameEngine, int col, int row, WritableImage reuse) {
+        GraphicsContext gc = offscreen.getGraphicsContext2D();
+        double tileX = col * TILE_SIZE;
+        double tileY = row * TILE_SIZE;
+        
+        gc.save();
+        gc.clearRect(0, 0, TILE_SIZE, TILE_SIZE);
+        drawBackground(gc);
+        gc.translate(-tileX, -tileY);
+        drawGrid(gc, tileX, tileY);
+        
+        // Walls spanning several tiles are drawn into each and clipped by the tile edges
+        GameRenderer wallRenderer = new GameRenderer(gc);
+        gameEngine.queryWalls(tileX, tileY, TILE_SIZE, TILE_SIZE, tileWalls);
+        for (GameObject wall : tileWalls) {
+            wallRenderer.render(wall);
+        }
+        gc.restore();
+        
+        rebuildCount++;
+        WritableImage image = reuse != null ? reuse : new WritableImage(TILE_SIZE, TILE_SIZE);
+        return offscreen.snapshot(snapshotParameters, image);
+    }
+    
+    private void drawBackground(GraphicsContext gc) {
+        // Realistic battlefield ground texture
+        gc.setFill(Color.rgb(60, 70, 50)); // Dark olive green
+        gc.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+        
+        // Add texture with random dirt patches
+        gc.setFill(Color.rgb(50, 60, 45));
+        for (int i = 0; i < DIRT_PATCHES; i++) {
+            double x = (i * 137) % TILE_SIZE;
+            double y = (i * 193) % TILE_SIZE;
+            gc.fillOval(x, y, 20, 15);
+        }
+        
+        // Darker patches for depth
+        gc.setFill(Color.rgb(45, 55, 40));
+        for (int i = 0; i < DARK_PATCHES; i++) {
+            double x = (i * 211) % TILE_SIZE;
+            double y = (i * 157) % TILE_SIZE;
+            gc.fillRect(x, y, 30, 25);
+        }
+    }
+    
+    private void drawGrid(GraphicsContext gc, double tileX, double tileY) {
+        // Subtle grid for tactical feel, aligned to map space so it continues across tiles
+        gc.setStroke(Color.rgb(70, 80, 55, 0.3)); // Semi-transparent
+        gc.setLineWidth(0.5);
+        
+        // Vertical lines
+        for (double x = Math.ceil(tileX / GRID_SPACING) * GRID_SPACING; x < tileX + TILE_SIZE; x += GRID_SPACING) {
+            gc.strokeLine(x, tileY, x, tileY + TILE_SIZE);
+        }
+        
+        // Horizontal lines
+        for (double y = Math.ceil(tileY / GRID_SPACING) * GRID_SPACING; y < tileY + TILE_SIZE; y += GRID_SPACING) {
+            gc.strokeLine(tileX, y, tileX + TILE_SIZE, y);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tankgame.util;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * A looping vector-drawn animation rendered once into a strip of frames.
+ * Drawing it picks the frame for the current phase of the cycle, so each object costs
+ * one drawImage however many shapes and text runs its frames are made of.
+ * Must be created on the FX thread.
+ */
+public class ProceduralSprite {
+    private static final int GUTTER = 2;
+    
+    /**
+     * Paints one frame with the object's top-left corner at (0, 0)
+     */
+    public interface FramePainter {
+        /**
+         * @param phase position in the cycle, from 0 inclusive to 1 exclusive
+         */
+        void paint(GraphicsContext gc, double phase);
+    }
+    
+    private final Sprite[] frames;
+    private final double originX;
+    private final double originY;
+    
+    /**
+     * @param originX left edge of the frame relative to the object, negative when the drawing sticks out
+     * @param originY top edge of the frame relative to the object
+     */
+    public ProceduralSprite(int frameCount, double originX, double originY,
+                            double width, double height, FramePainter painter) {
+        this.frames = new Sprite[frameCount];
+        this.originX = originX;
+        this.originY = originY;
+        
+        int frameWidth = (int) Math.ceil(width);
+        int frameHeight = (int) Math.ceil(height);
+        Canvas canvas = new Canvas(frameCount * (frameWidth + GUTTER), frameHeight);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (int i = 0; i < frameCount; i++) {
+            gc.save();
+            gc.beginPath();
+            gc.rect(i * (frameWidth + GUTTER), 0, frameWidth, frameHeight);
+            gc.clip();
+            gc.translate(i * (frameWidth + GUTTER) - originX, -originY);
+            painter.paint(gc, i / (double) frameCount);
+            gc.restore();
+        }
+        
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        WritableImage strip = canvas.snapshot(parameters, null);
+        for (int i = 0; i < frameCount; i++) {
+            frames[i] = new Sprite(strip, i * (frameWidth + GUTTER), 0, frameWidth, frameHeight);
+        }
+    }
+    
+    /**
+     * Draw the frame for a phase of the cycle; phases outside [0, 1) wrap around
+     */
+    public void draw(GraphicsContext gc, double x, double y, double phase) {
+        frames[frameFor(phase)].draw(gc, x + originX, y + originY);
+    }
+    
+    /**
+     * Index of the frame drawn for a phase, so callers can tell when the picture actually changes
+     */
+    public int frameFor(double phase) {
+        double wrapped = phase - Math.floor(phase);
+        return Math.min(frames.length - 1, (int) (wrapped * frames.length));
+    }
+    
+    public int getFrameCount() {
+        return frames.length;
+    }
+}
@@ -1,77 +1,233 @@
 package com.tankgame.util;
 
+import javafx.application.Platform;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
 import com.tankgame.model.Direction;
-import java.util.HashMap;
+import com.tankgame.model.Explosion;
+import com.tankgame.model.Missile;
+import com.tankgame.model.Tank;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Singleton Pattern: Manages game resources (images)
+ * Images are classpath resources decoded in parallel on background threads; load() hands
+ * back a future so the window can show up before they are ready. All sprites are then packed
+ * once into a single atlas image on the FX thread, already scaled to their drawn size and with
+ * the owner tint applied, so drawing one is a single drawImage from the atlas.
  */
 public class ResourceManager {
-    private static ResourceManager instance;
-    private Map<String, Image> imageCache;
+    private static final int PLAYER = 0;
+    private static final int ENEMY = 1;
+    // Keeps filtering from bleeding neighbouring sprites into each other
+    private static final int GUTTER = 2;
+    private static final int LOADER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
     
-    private ResourceManager() {
-        imageCache = new HashMap<>();
-        loadImages();
+    private static CompletableFuture<ResourceManager> loading;
+    private static volatile ResourceManager instance;
+    
+    // Decoded source images by resource path; missing ones are absent
+    private final Map<String, Image> images;
+    // Indexed by [owner][Direction ordinal]
+    private final Sprite[][] tankSprites = new Sprite[2][Direction.values().length];
+    private final Sprite[] missileSprites = new Sprite[Direction.values().length];
+    private final Sprite[] explosionSprites = new Sprite[Explosion.FRAME_COUNT];
+    
+    private ResourceManager(Map<String, Image> images) {
+        this.images = images;
+        buildAtlas();
+    }
+    
+    /**
+     * Start loading the assets if nobody has yet. Completes on the FX thread once the atlas is built.
+     * Needs the JavaFX toolkit to be running.
+     */
+    public static synchronized CompletableFuture<ResourceManager> load() {
+        if (loading == null) {
+            Executor fxThread = Platform::runLater;
+            loading = decodeImages().thenApplyAsync(images -> {
+                instance = new ResourceManager(images);
+                return instance;
+            }, fxThread);
+        }
+        return loading;
     }
     
+    /**
+     * The loaded resources; only valid after the future returned by load() has completed
+     */
     public static ResourceManager getInstance() {
-        if (instance == null) {
-            instance = new ResourceManager();
+        ResourceManager resources = instance;
+        if (resources == null) {
+            throw new IllegalStateException("Resources are not loaded yet, wait for ResourceManager.load()");
         }
-        return instance;
+        return resources;
     }
     
-    private void loadImages() {
-        try {
-            // Load tank images
-            loadImage("tankU", "images/tankU.gif");
-            loadImage("tankD", "images/tankD.gif");
-            loadImage("tankL", "images/tankL.gif");
-            loadImage("tankR", "images/tankR.gif");
-            
-            // Load missile images
-            loadImage("missileU", "images/missileU.gif");
-            loadImage("missileD", "images/MissileD.gif");
-            loadImage("missileL", "images/missileL.gif");
-            loadImage("missileR", "images/missileR.gif");
-            
-            // Load explosion images
-            for (int i = 0; i <= 10; i++) {
-                loadImage("explosion" + i, "images/" + i + ".gif");
+    private static CompletableFuture<Map<String, Image>> decodeImages() {
+        List<String> paths = new ArrayList<>();
+        for (Direction direction : Direction.values()) {
+            paths.add(getTankPath(direction));
+            paths.add(getMissilePath(direction));
+        }
+        for (int frame = 0; frame < Explosion.FRAME_COUNT; frame++) {
+            paths.add(getExplosionPath(frame));
+        }
+        
+        ExecutorService loaders = Executors.newFixedThreadPool(LOADER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, Image> images = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[paths.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            String path = paths.get(i);
+            tasks[i] = CompletableFuture.runAsync(() -> {
+                Image image = loadImage(path);
+                if (image != null) {
+                    images.put(path, image);
+                }
+            }, loaders);
+        }
+        return CompletableFuture.allOf(tasks).whenComplete((done, error) -> loaders.shutdown())
+            .thenApply(done -> images);
+    }
+    
+    private void buildAtlas() {
+        int tankSize = (int) Tank.TANK_SIZE;
+        int missileSize = (int) Missile.MISSILE_SIZE;
+        int explosionSize = (int) Explosion.EXPLOSION_SIZE;
+        
+        // Row 1: tanks per owner and direction, row 2: missiles, row 3: explosion frames
+        int tankRowY = GUTTER;
+        int missileRowY = tankRowY + tankSize + GUTTER;
+        int explosionRowY = missileRowY + missileSize + GUTTER;
+        int width = GUTTER + Math.max(tankSprites.length * tankSprites[0].length * (tankSize + GUTTER),
+            explosionSprites.length * (explosionSize + GUTTER));
+        int height = explosionRowY + explosionSize + GUTTER;
+        
+        Canvas canvas = new Canvas(width, height);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        int[][] tankSlots = new int[tankSprites.length][tankSprites[0].length];
+        int[] missileSlots = new int[missileSprites.length];
+        int[] explosionSlots = new int[explosionSprites.length];
+        
+        int x = GUTTER;
+        for (int owner = PLAYER; owner <= ENEMY; owner++) {
+            // Player tanks are tinted blue, enemies red
+            Color tint = owner == PLAYER ? Color.rgb(0, 100, 255, 0.3) : Color.rgb(255, 0, 0, 0.3);
+            for (Direction direction : Direction.values()) {
+                Image image = images.get(getTankPath(direction));
+                tankSlots[owner][direction.ordinal()] = image != null ? x : -1;
+                if (image != null) {
+                    gc.drawImage(image, x, tankRowY, tankSize, tankSize);
+                    gc.setFill(tint);
+                    gc.fillRect(x, tankRowY, tankSize, tankSize);
+                }
+                x += tankSize + GUTTER;
             }
-        } catch (Exception e) {
-            System.err.println("Error loading images: " + e.getMessage());
         }
+        
+        x = GUTTER;
+        for (Direction direction : Direction.values()) {
+            Image image = images.get(getMissilePath(direction));
+            missileSlots[direction.ordinal()] = image != null ? x : -1;
+            if (image != null) {
+                gc.drawImage(image, x, missileRowY, missileSize, missileSize);
+            }
+            x += missileSize + GUTTER;
+        }
+        
+        x = GUTTER;
+        for (int frame = 0; frame < explosionSprites.length; frame++) {
+            Image image = images.get(getExplosionPath(frame));
+            explosionSlots[frame] = image != null ? x : -1;
+            if (image != null) {
+                gc.drawImage(image, x, explosionRowY, explosionSize, explosionSize);
+            }
+            x += explosionSize + GUTTER;
+        }
+        
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        WritableImage atlas = canvas.snapshot(parameters, null);
+        
+        // Missing images leave their sprite null, which the renderer skips
+        for (int owner = PLAYER; owner <= ENEMY; owner++) {
+            for (int d = 0; d < tankSlots[owner].length; d++) {
+                tankSprites[owner][d] = sprite(atlas, tankSlots[owner][d], tankRowY, tankSize);
+            }
+        }
+        for (int d = 0; d < missileSlots.length; d++) {
+            missileSprites[d] = sprite(atlas, missileSlots[d], missileRowY, missileSize);
+        }
+        for (int frame = 0; frame < explosionSlots.length; frame++) {
+            explosionSprites[frame] = sprite(atlas, explosionSlots[frame], explosionRowY, explosionSize);
+        }
+        StartupTimeline.mark("sprite atlas " + width + "x" + height);
     }
     
-    private void loadImage(String key, String path) {
-        try {
-            String fullPath = "file:" + System.getProperty("user.dir") + "/" + path;
-            Image image = new Image(fullPath);
-            imageCache.put(key, image);
+    private static Sprite sprite(Image atlas, int x, int y, int size) {
+        return x < 0 ? null : new Sprite(atlas, x, y, size, size);
+    }
+    
+    private static Image loadImage(String path) {
+        try (InputStream in = ResourceManager.class.getResourceAsStream(path)) {
+            if (in == null) {
+                System.err.println("Missing image resource: " + path);
+                return null;
+            }
+            Image image = new Image(in);
+            if (image.isError()) {
+                System.err.println("Failed to load image: " + path);
+                return null;
+            }
+            return image;
         } catch (Exception e) {
             System.err.println("Failed to load image: " + path);
+            return null;
         }
     }
     
-    public Image getTankImage(Direction direction, boolean isPlayer) {
-        String key = "tank" + getDirectionSuffix(direction);
-        return imageCache.get(key);
+    public Sprite getTankSprite(Direction direction, boolean isPlayer) {
+        return tankSprites[isPlayer ? PLAYER : ENEMY][direction.ordinal()];
     }
     
-    public Image getMissileImage(Direction direction) {
-        String key = "missile" + getDirectionSuffix(direction);
-        return imageCache.get(key);
+    public Sprite getMissileSprite(Direction direction) {
+        return missileSprites[direction.ordinal()];
     }
     
-    public Image getExplosionImage(int frame) {
-        return imageCache.get("explosion" + frame);
+    public Sprite getExplosionSprite(int frame) {
+        return explosionSprites[frame];
     }
     
-    private String getDirectionSuffix(Direction direction) {
+    private static String getTankPath(Direction direction) {
+        return "/images/tank" + getDirectionSuffix(direction) + ".gif";
+    }
+    
+    private static String getMissilePath(Direction direction) {
+        // The down-facing missile file is capitalized
+        return direction == Direction.DOWN ? "/images/MissileD.gif" : "/images/missile" + getDirectionSuffix(direction) + ".gif";
+    }
+    
+    private static String getExplosionPath(int frame) {
+        return "/images/" + frame + ".gif";
+    }
+    
+    private static String getDirectionSuffix(Direction direction) {
         switch (direction) {
             case UP: return "U";
             case DOWN: return "D";
@@ -81,4 +237,3 @@ public class ResourceManager {
         }
     }
 }
-
@@ -0,0 +1,47 @@
+package com.tankgame.util;
+
+import java.util.Random;
+
+/**
+ * java.util.Random with the same sequence for the same seed, but whose internal state can be
+ * read and restored, so world snapshots can capture exactly where the simulation's randomness
+ * stands. Not thread-safe; each instance belongs to one thread at a time.
+ */
+public class SeededRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    
+    // Assigned by setSeed from Random's constructor, so it must not have an initializer
+    private long state;
+    
+    public SeededRandom() {
+        this(System.nanoTime());
+    }
+    
+    public SeededRandom(long seed) {
+        super(seed);
+    }
+    
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+    
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+    
+    public long getState() {
+        return state;
+    }
+    
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
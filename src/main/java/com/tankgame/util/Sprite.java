@@ -0,0 +1,30 @@
+package com.tankgame.util;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+
+/**
+ * One pre-scaled image inside the sprite atlas, drawn 1:1 with a single drawImage
+ */
+public class Sprite {
+    private final Image atlas;
+    private final double sourceX;
+    private final double sourceY;
+    private final double width;
+    private final double height;
+    
+    Sprite(Image atlas, double sourceX, double sourceY, double width, double height) {
+        this.atlas = atlas;
+        this.sourceX = sourceX;
+        this.sourceY = sourceY;
+        this.width = width;
+        this.height = height;
+    }
+    
+    public void draw(GraphicsContext gc, double x, double y) {
+        gc.drawImage(atlas, sourceX, sourceY, width, height, x, y, width, height);
+    }
+    
+    public double getWidth() { return width; }
+    public double getHeight() { return height; }
+}
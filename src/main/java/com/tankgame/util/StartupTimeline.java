@@ -0,0 +1,37 @@
+package com.tankgame.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Milestones of a launch measured from JVM start, logged once so cold-start
+ * regressions show up in every run's output
+ */
+public final class StartupTimeline {
+    private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final List<String> names = new ArrayList<>();
+    private static final List<Long> offsets = new ArrayList<>();
+    
+    private StartupTimeline() {
+    }
+    
+    /**
+     * Record a milestone at the current time
+     */
+    public static synchronized void mark(String name) {
+        names.add(name);
+        offsets.add(System.currentTimeMillis() - JVM_START_MILLIS);
+    }
+    
+    /**
+     * Print all milestones so far on one line, e.g. "jvm start 0 ms -> toolkit ready 412 ms -> ..."
+     */
+    public static synchronized void log() {
+        StringBuilder line = new StringBuilder("Startup timeline: jvm start 0 ms");
+        for (int i = 0; i < names.size(); i++) {
+            line.append(" -> ").append(names.get(i)).append(' ').append(offsets.get(i)).append(" ms");
+        }
+        System.out.println(line);
+    }
+}